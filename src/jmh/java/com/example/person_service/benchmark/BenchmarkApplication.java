@@ -0,0 +1,20 @@
+package com.example.person_service.benchmark;
+
+import com.example.person_service.PersonServiceApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the service with the {@code benchmark} profile: H2 in PostgreSQL mode, schema from the entities and no
+ * Kafka listeners.
+ */
+final class BenchmarkApplication {
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        SpringApplication application = new SpringApplication(PersonServiceApplication.class);
+        application.setAdditionalProfiles("benchmark");
+        return application.run();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.person_service.benchmark;
+
+import com.example.person_service.dto.request.CreatePersonRequest;
+import com.example.person_service.dto.response.CreatePersonBatchResponse;
+import com.example.person_service.dto.response.PersonResponse;
+import com.example.person_service.service.PersonService;
+import com.example.person_service.utils.MockDataGenerator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Creates {@value #ROWS} new persons per invocation, either through one {@link PersonService#createPersons} call or
+ * through one {@link PersonService#createPerson} call per row, so both scores are the cost of a single person.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(BulkCreateBenchmark.ROWS)
+public class BulkCreateBenchmark {
+    static final int ROWS = 500;
+
+    private ConfigurableApplicationContext context;
+    private PersonService personService;
+    private int nextIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        personService = context.getBean(PersonService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // one transaction, one IN lookup for existing tax numbers and JDBC-batched inserts
+    @Benchmark
+    public CreatePersonBatchResponse createPersons() {
+        return personService.createPersons(nextRequests());
+    }
+
+    // one transaction, duplicate lookup and insert per row
+    @Benchmark
+    public void createPersonPerRow(Blackhole blackhole) {
+        for (CreatePersonRequest request : nextRequests()) {
+            PersonResponse response = personService.createPerson(request);
+            blackhole.consume(response);
+        }
+    }
+
+    private List<CreatePersonRequest> nextRequests() {
+        List<CreatePersonRequest> requests = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            requests.add(MockDataGenerator.createTestSuccessPersonRequest(nextIndex++));
+        }
+        return requests;
+    }
+}
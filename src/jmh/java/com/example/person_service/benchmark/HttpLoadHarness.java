@@ -0,0 +1,280 @@
+package com.example.person_service.benchmark;
+
+import com.example.person_service.PersonServiceApplication;
+import com.example.person_service.dto.request.CreatePersonRequest;
+import com.example.person_service.utils.MockDataGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Closed-loop HTTP load against the service on H2, once with platform request threads and once with virtual ones
+ * ({@code spring.threads.virtual.enabled}). Each client repeatedly creates a person and reads it back by tax number.
+ * Reports throughput, p50/p99/p999/max latency per endpoint and the peak number of requests the server was handling
+ * at once, per mode and client count, and writes them to {@code target/http-result.json}.
+ *
+ * <p>Tuned with system properties: {@code http.modes}, {@code http.clients}, {@code http.warmup},
+ * {@code http.duration}, {@code http.pool-size}. Virtual threads need Java 21 ({@code -Pbenchmark,java21} on a
+ * Java 21 JDK); on older runtimes that mode is reported as skipped.
+ */
+public final class HttpLoadHarness {
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+    private static final String[] PERCENTILE_LABELS = {"p50", "p99", "p999"};
+    private static final String PLATFORM = "platform";
+    private static final String VIRTUAL = "virtual";
+
+    private HttpLoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> modes = List.of(System.getProperty("http.modes", PLATFORM + "," + VIRTUAL).split(","));
+        int[] clients = Arrays.stream(System.getProperty("http.clients", "50,200,800").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration warmup = Duration.parse(System.getProperty("http.warmup", "PT5S"));
+        Duration duration = Duration.parse(System.getProperty("http.duration", "PT20S"));
+        String poolSize = System.getProperty("http.pool-size", "20");
+
+        AtomicInteger nextIndex = new AtomicInteger();
+        Map<String, Object> report = new LinkedHashMap<>();
+        for (String mode : modes) {
+            if (VIRTUAL.equals(mode) && Runtime.version().feature() < 21) {
+                System.out.printf("%-8s skipped: virtual threads need Java 21, running on %s%n", mode,
+                        Runtime.version());
+                report.put(mode, Map.of("skipped", "Java " + Runtime.version().feature()));
+                continue;
+            }
+            InFlightFilter inFlight = new InFlightFilter();
+            ConfigurableApplicationContext context = start(VIRTUAL.equals(mode), poolSize, inFlight);
+            try {
+                Client client = new Client(context);
+                run(client, inFlight, nextIndex, clients[0], warmup, new Metrics());
+                Map<String, Object> byClients = new LinkedHashMap<>();
+                for (int clientCount : clients) {
+                    Map<String, Object> result = run(client, inFlight, nextIndex, clientCount, duration, new Metrics());
+                    System.out.printf("%-8s %5d clients %,10.0f req/s  create %s  find %s  peak in flight %d%n",
+                            mode, clientCount, result.get("requestsPerSecond"), result.get("createMs"),
+                            result.get("findMs"), result.get("peakInFlight"));
+                    byClients.put(String.valueOf(clientCount), result);
+                }
+                report.put(mode, byClients);
+            } finally {
+                context.close();
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("java", Runtime.version().toString());
+        result.put("warmup", warmup.toString());
+        result.put("duration", duration.toString());
+        result.put("poolSize", Integer.parseInt(poolSize));
+        result.put("modes", report);
+        write(result);
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads, String poolSize, Filter inFlight) {
+        SpringApplication application = new SpringApplication(PersonServiceApplication.class);
+        application.setAdditionalProfiles("benchmark");
+        // passed as arguments so they override the benchmark profile, which runs without a web server
+        Map<String, String> properties = Map.of(
+                "spring.main.web-application-type", "servlet",
+                "server.port", "0",
+                "spring.threads.virtual.enabled", String.valueOf(virtualThreads),
+                "spring.datasource.hikari.maximum-pool-size", poolSize,
+                "spring.datasource.hikari.minimum-idle", poolSize,
+                "spring.datasource.hikari.connection-timeout", "30000",
+                "logging.level.com.example.person_service", "OFF");
+        application.addInitializers(context -> context.getBeanFactory().registerSingleton("inFlightFilter", inFlight));
+        return application.run(properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new));
+    }
+
+    private static Map<String, Object> run(Client client, InFlightFilter inFlight, AtomicInteger nextIndex,
+                                           int clientCount, Duration duration, Metrics metrics) {
+        inFlight.resetPeak();
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(clientCount);
+        List<CompletableFuture<Void>> loops = new ArrayList<>(clientCount);
+        for (int i = 0; i < clientCount; i++) {
+            loops.add(CompletableFuture.runAsync(() -> {
+                while (System.nanoTime() < deadline) {
+                    int index = nextIndex.getAndIncrement();
+                    String taxNumber = metrics.time("create", () -> client.create(index));
+                    if (taxNumber != null) {
+                        metrics.time("find", () -> client.find(taxNumber));
+                    }
+                }
+            }, clients));
+        }
+        CompletableFuture.allOf(loops.toArray(CompletableFuture[]::new)).join();
+        clients.shutdown();
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", metrics.requests());
+        result.put("failures", metrics.failures.get());
+        result.put("requestsPerSecond", metrics.requests() * 1e9 / elapsedNanos);
+        result.put("createMs", metrics.latencies("create"));
+        result.put("findMs", metrics.latencies("find"));
+        result.put("peakInFlight", inFlight.peak());
+        return result;
+    }
+
+    private static void write(Map<String, Object> result) throws IOException {
+        File file = new File("target/http-result.json");
+        file.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, result);
+        System.out.println("HTTP result is saved to " + file.getAbsolutePath());
+    }
+
+    /**
+     * Blocking JSON client over one shared {@link HttpClient}; returns null for anything but a 2xx response.
+     */
+    private static final class Client {
+        private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        private final ObjectMapper objectMapper;
+        private final String baseUrl;
+
+        Client(ConfigurableApplicationContext context) {
+            this.objectMapper = context.getBean(ObjectMapper.class);
+            this.baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        }
+
+        String create(int index) throws IOException, InterruptedException {
+            CreatePersonRequest request = MockDataGenerator.createTestSuccessPersonRequest(index);
+            HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/persons"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(request)))
+                    .build();
+            return send(httpRequest) ? request.getTaxNumber() : null;
+        }
+
+        String find(String taxNumber) throws IOException, InterruptedException {
+            HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/persons/taxes/" + taxNumber))
+                    .GET()
+                    .build();
+            return send(httpRequest) ? taxNumber : null;
+        }
+
+        private boolean send(HttpRequest request) throws IOException, InterruptedException {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 300;
+        }
+    }
+
+    private interface Call {
+        String call() throws Exception;
+    }
+
+    private static final class Metrics {
+        private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        private final Map<String, AtomicLong> maxNanos = new LinkedHashMap<>(Map.of(
+                "create", new AtomicLong(), "find", new AtomicLong()));
+        private final AtomicLong failures = new AtomicLong();
+
+        String time(String endpoint, Call call) {
+            long started = System.nanoTime();
+            String result;
+            try {
+                result = call.call();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (Exception e) {
+                result = null;
+            }
+            long elapsed = System.nanoTime() - started;
+            timer(endpoint).record(elapsed, TimeUnit.NANOSECONDS);
+            maxNanos.get(endpoint).accumulateAndGet(elapsed, Math::max);
+            if (result == null) {
+                failures.incrementAndGet();
+            }
+            return result;
+        }
+
+        long requests() {
+            return timer("create").count() + timer("find").count();
+        }
+
+        /**
+         * p50/p99/p999 and max of the endpoint in milliseconds.
+         */
+        Map<String, Double> latencies(String endpoint) {
+            HistogramSnapshot snapshot = timer(endpoint).takeSnapshot();
+            Map<String, Double> result = new LinkedHashMap<>();
+            ValueAtPercentile[] values = snapshot.percentileValues();
+            for (int i = 0; i < values.length; i++) {
+                result.put(PERCENTILE_LABELS[i], values[i].value(TimeUnit.MILLISECONDS));
+            }
+            result.put("max", maxNanos.get(endpoint).get() / 1e6);
+            return result;
+        }
+
+        private Timer timer(String endpoint) {
+            return Timer.builder("http." + endpoint)
+                    .publishPercentiles(PERCENTILES)
+                    .distributionStatisticExpiry(Duration.ofDays(1))
+                    .distributionStatisticBufferLength(1)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Counts requests between entering and leaving the servlet filter chain. With platform threads the peak is capped
+     * by Tomcat's worker pool; with virtual threads every accepted connection gets a thread and the database pool
+     * becomes the bound.
+     */
+    private static final class InFlightFilter implements Filter {
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+
+        void resetPeak() {
+            peak.set(current.get());
+        }
+
+        int peak() {
+            return peak.get();
+        }
+    }
+}
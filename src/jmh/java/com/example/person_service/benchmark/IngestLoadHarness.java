@@ -0,0 +1,196 @@
+package com.example.person_service.benchmark;
+
+import com.example.person_service.PersonServiceApplication;
+import com.example.person_service.utils.MockDataGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+/**
+ * Offline end-to-end ingest run: an embedded KRaft broker, the service on H2 with its real listeners, and
+ * {@link MockDataGenerator} events pushed through each topic in turn. Reports throughput, end-to-end lag and
+ * listener processing latency per topic and writes them to {@code target/ingest-result.json}.
+ *
+ * <p>Tuned with system properties: {@code ingest.events}, {@code ingest.producer-threads},
+ * {@code ingest.partitions}, {@code ingest.topics}, {@code ingest.mode}, {@code ingest.max-poll-records},
+ * {@code ingest.concurrency}, {@code ingest.timeout}.
+ */
+public final class IngestLoadHarness {
+    private static final String CREATE_PERSON_TOPIC = "create_person_topic";
+    private static final String SUCCESS_PERSON_TOPIC = "success-person-events";
+    private static final String INDEPENDENT_EVENTS_TOPIC = "success-independent-events";
+
+    private IngestLoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int events = Integer.getInteger("ingest.events", 100_000);
+        int producerThreads = Integer.getInteger("ingest.producer-threads", 4);
+        int partitions = Integer.getInteger("ingest.partitions", 6);
+        Set<String> topics = new LinkedHashSet<>(List.of(System.getProperty("ingest.topics",
+                String.join(",", CREATE_PERSON_TOPIC, SUCCESS_PERSON_TOPIC, INDEPENDENT_EVENTS_TOPIC)).split(",")));
+        Duration timeout = Duration.parse(System.getProperty("ingest.timeout", "PT30M"));
+
+        EmbeddedKafkaKraftBroker broker = new EmbeddedKafkaKraftBroker(1, partitions, topics.toArray(String[]::new));
+        broker.afterPropertiesSet();
+        ListenerMetrics metrics = new ListenerMetrics(topics);
+        ConfigurableApplicationContext context = start(broker, metrics);
+        Map<String, Object> report = new LinkedHashMap<>();
+        try {
+            awaitAssignment(context.getBean(KafkaListenerEndpointRegistry.class), topics);
+            @SuppressWarnings("unchecked")
+            KafkaTemplate<String, Object> kafkaTemplate = context.getBean("highThroughputKafkaTemplate", KafkaTemplate.class);
+            int offset = 0;
+            for (String topic : topics) {
+                report.put(topic, run(kafkaTemplate, metrics, topic, events, offset, producerThreads, timeout));
+                offset += events;
+            }
+        } finally {
+            context.close();
+            broker.destroy();
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("events", events);
+        result.put("producerThreads", producerThreads);
+        result.put("partitions", partitions);
+        result.put("mode", System.getProperty("ingest.mode", "RECORD"));
+        result.put("maxPollRecords", Integer.getInteger("ingest.max-poll-records", 500));
+        result.put("concurrency", Integer.getInteger("ingest.concurrency", 1));
+        result.put("topics", report);
+        write(result);
+    }
+
+    private static ConfigurableApplicationContext start(EmbeddedKafkaKraftBroker broker, ListenerMetrics metrics) {
+        SpringApplication application = new SpringApplication(PersonServiceApplication.class);
+        application.setAdditionalProfiles("benchmark");
+        // passed as arguments so they override the benchmark profile, which keeps listeners stopped
+        Map<String, String> properties = Map.of(
+                "spring.kafka.bootstrap-servers", broker.getBrokersAsString(),
+                "spring.kafka.listener.auto-startup", "true",
+                "spring.kafka.admin.auto-create", "true",
+                "spring.kafka.consumer.auto-offset-reset", "earliest",
+                "person.event.kafka.batch.mode", System.getProperty("ingest.mode", "RECORD"),
+                "person.event.kafka.batch.max-poll-records", System.getProperty("ingest.max-poll-records", "500"),
+                "person.event.kafka.batch.concurrency", System.getProperty("ingest.concurrency", "1"),
+                "logging.level.org.apache.kafka", "WARN",
+                "logging.level.com.example.person_service", "OFF");
+        application.addInitializers(context -> context.getBeanFactory().addBeanPostProcessor(interceptorInstaller(metrics)));
+        return application.run(properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new));
+    }
+
+    /**
+     * Waits until every listener of the measured topics owns partitions, so group joins are not part of the numbers.
+     */
+    private static void awaitAssignment(KafkaListenerEndpointRegistry registry, Set<String> topics)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + Duration.ofMinutes(2).toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            boolean assigned = registry.getAllListenerContainers().stream()
+                    .filter(container -> container.getContainerProperties().getTopics() != null
+                            && Arrays.stream(container.getContainerProperties().getTopics()).anyMatch(topics::contains))
+                    .allMatch(container -> container.getAssignedPartitions() != null
+                            && !container.getAssignedPartitions().isEmpty());
+            if (assigned) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("Listeners for " + topics + " did not get partitions assigned");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BeanPostProcessor interceptorInstaller(ListenerMetrics metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConcurrentKafkaListenerContainerFactory<?, ?> factory) {
+                    ConcurrentKafkaListenerContainerFactory<String, Object> listenerFactory =
+                            (ConcurrentKafkaListenerContainerFactory<String, Object>) factory;
+                    listenerFactory.setRecordInterceptor(metrics);
+                    listenerFactory.setBatchInterceptor(metrics);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static Map<String, Object> run(KafkaTemplate<String, Object> kafkaTemplate, ListenerMetrics metrics,
+                                           String topic, int events, int offset, int producerThreads,
+                                           Duration timeout) throws InterruptedException {
+        IntFunction<Object> payload = payloadFor(topic);
+        long startedAt = System.currentTimeMillis();
+        ExecutorService producers = Executors.newFixedThreadPool(producerThreads);
+        List<CompletableFuture<Void>> slices = new ArrayList<>();
+        for (int thread = 0; thread < producerThreads; thread++) {
+            int from = offset + events * thread / producerThreads;
+            int to = offset + events * (thread + 1) / producerThreads;
+            slices.add(CompletableFuture.runAsync(() -> {
+                for (int index = from; index < to; index++) {
+                    Object value = payload.apply(index);
+                    kafkaTemplate.send(topic, String.valueOf(index), value);
+                }
+                kafkaTemplate.flush();
+            }, producers));
+        }
+        CompletableFuture.allOf(slices.toArray(CompletableFuture[]::new)).join();
+        producers.shutdown();
+        long producedAt = System.currentTimeMillis();
+
+        long deadline = startedAt + timeout.toMillis();
+        while (metrics.completed(topic) < events && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        long completed = metrics.completed(topic);
+        long elapsedMs = Math.max(1, metrics.lastCompletedAt(topic) - startedAt);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("completed", completed);
+        report.put("timedOut", completed < events);
+        report.put("failedInvocations", metrics.failedInvocations(topic));
+        report.put("produceMs", producedAt - startedAt);
+        report.put("elapsedMs", elapsedMs);
+        report.put("eventsPerSecond", completed * 1000.0 / elapsedMs);
+        report.put("lagMs", metrics.percentiles("lag", topic));
+        report.put("processingMs", metrics.percentiles("processing", topic));
+        System.out.printf("%-28s %,10d events %,12.0f ev/s  lag %s  processing %s%n", topic, completed,
+                report.get("eventsPerSecond"), report.get("lagMs"), report.get("processingMs"));
+        return report;
+    }
+
+    private static IntFunction<Object> payloadFor(String topic) {
+        return switch (topic) {
+            case INDEPENDENT_EVENTS_TOPIC -> MockDataGenerator::generateRandomCreatePersonEvent;
+            case CREATE_PERSON_TOPIC, SUCCESS_PERSON_TOPIC -> MockDataGenerator::createTestSuccessPersonRequest;
+            default -> throw new IllegalArgumentException("No payload generator for topic " + topic);
+        };
+    }
+
+    private static void write(Map<String, Object> result) throws IOException {
+        File file = new File("target/ingest-result.json");
+        file.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, result);
+        System.out.println("Ingest result is saved to " + file.getAbsolutePath());
+    }
+}
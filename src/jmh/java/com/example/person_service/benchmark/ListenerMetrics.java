@@ -0,0 +1,132 @@
+package com.example.person_service.benchmark;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+/**
+ * Listener interceptor recording, per topic, the duration of each listener invocation and the end-to-end lag of
+ * each record (completion time minus the producer's record timestamp). Completion is tracked as the highest offset
+ * seen per partition, so redelivered records are not counted twice.
+ */
+class ListenerMetrics implements RecordInterceptor<String, Object>, BatchInterceptor<String, Object> {
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+    private static final String[] PERCENTILE_LABELS = {"p50", "p99", "p999"};
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Set<String> topics;
+    private final Map<TopicPartition, AtomicLong> completedOffsets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> lastCompletedAt = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> failedInvocations = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> startedAt = new ThreadLocal<>();
+
+    ListenerMetrics(Set<String> topics) {
+        this.topics = topics;
+    }
+
+    @Override
+    public ConsumerRecord<String, Object> intercept(ConsumerRecord<String, Object> record, Consumer<String, Object> consumer) {
+        startedAt.set(System.nanoTime());
+        return record;
+    }
+
+    @Override
+    public void success(ConsumerRecord<String, Object> record, Consumer<String, Object> consumer) {
+        complete(record.topic(), Set.of(record));
+    }
+
+    @Override
+    public void failure(ConsumerRecord<String, Object> record, Exception exception, Consumer<String, Object> consumer) {
+        failedInvocations.computeIfAbsent(record.topic(), topic -> new AtomicLong()).incrementAndGet();
+        complete(record.topic(), Set.of(record));
+    }
+
+    @Override
+    public ConsumerRecords<String, Object> intercept(ConsumerRecords<String, Object> records, Consumer<String, Object> consumer) {
+        startedAt.set(System.nanoTime());
+        return records;
+    }
+
+    @Override
+    public void success(ConsumerRecords<String, Object> records, Consumer<String, Object> consumer) {
+        for (TopicPartition partition : records.partitions()) {
+            complete(partition.topic(), records.records(partition));
+        }
+    }
+
+    @Override
+    public void failure(ConsumerRecords<String, Object> records, Exception exception, Consumer<String, Object> consumer) {
+        for (TopicPartition partition : records.partitions()) {
+            failedInvocations.computeIfAbsent(partition.topic(), topic -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private void complete(String topic, Iterable<ConsumerRecord<String, Object>> records) {
+        Long started = startedAt.get();
+        if (!topics.contains(topic) || started == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Timer lag = timer("lag", topic);
+        for (ConsumerRecord<String, Object> record : records) {
+            lag.record(Math.max(0, now - record.timestamp()), TimeUnit.MILLISECONDS);
+            completedOffsets.computeIfAbsent(new TopicPartition(record.topic(), record.partition()), partition -> new AtomicLong(-1))
+                    .accumulateAndGet(record.offset(), Math::max);
+        }
+        timer("processing", topic).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        lastCompletedAt.computeIfAbsent(topic, key -> new AtomicLong()).accumulateAndGet(now, Math::max);
+    }
+
+    long completed(String topic) {
+        return completedOffsets.entrySet().stream()
+                .filter(entry -> entry.getKey().topic().equals(topic))
+                .mapToLong(entry -> entry.getValue().get() + 1)
+                .sum();
+    }
+
+    long lastCompletedAt(String topic) {
+        AtomicLong completedAt = lastCompletedAt.get(topic);
+        return completedAt == null ? 0 : completedAt.get();
+    }
+
+    long failedInvocations(String topic) {
+        AtomicLong failed = failedInvocations.get(topic);
+        return failed == null ? 0 : failed.get();
+    }
+
+    /**
+     * p50/p99/p999 of the given timer in milliseconds.
+     */
+    Map<String, Double> percentiles(String metric, String topic) {
+        HistogramSnapshot snapshot = timer(metric, topic).takeSnapshot();
+        Map<String, Double> result = new LinkedHashMap<>();
+        ValueAtPercentile[] values = snapshot.percentileValues();
+        for (int i = 0; i < values.length; i++) {
+            result.put(PERCENTILE_LABELS[i], values[i].value(TimeUnit.MILLISECONDS));
+        }
+        return result;
+    }
+
+    private Timer timer(String metric, String topic) {
+        return Timer.builder("ingest." + metric)
+                .tag("topic", topic)
+                .publishPercentiles(PERCENTILES)
+                .distributionStatisticExpiry(Duration.ofDays(1))
+                .distributionStatisticBufferLength(1)
+                .register(registry);
+    }
+}
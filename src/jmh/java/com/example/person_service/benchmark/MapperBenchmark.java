@@ -0,0 +1,69 @@
+package com.example.person_service.benchmark;
+
+import com.example.person_service.dto.request.CreatePersonEvent;
+import com.example.person_service.dto.request.CreatePersonRequest;
+import com.example.person_service.dto.request.UpdatePersonEvent;
+import com.example.person_service.dto.request.UpdatePersonRequest;
+import com.example.person_service.entity.FailPersonEvent;
+import com.example.person_service.utils.CalculateAge;
+import com.example.person_service.utils.MockDataGenerator;
+import com.example.person_service.utils.PersonEventMapper;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private final PersonEventMapper personEventMapper = new PersonEventMapper();
+    private LocalDate dob;
+    private CreatePersonEvent createPersonEvent;
+    private UpdatePersonEvent updatePersonEvent;
+    private FailPersonEvent failPersonEvent;
+
+    @Setup
+    public void setUp() {
+        dob = LocalDate.of(1990, 6, 15);
+        createPersonEvent = MockDataGenerator.generateRandomCreatePersonEvent(1);
+        updatePersonEvent = MockDataGenerator.generateRandomUpdatePersonRequest(1);
+        failPersonEvent = personEventMapper.extractCreatePersonEvent(createPersonEvent);
+    }
+
+    @Benchmark
+    public int calAge() {
+        return CalculateAge.calAge(dob);
+    }
+
+    @Benchmark
+    public CreatePersonRequest toRequest() {
+        return personEventMapper.toRequest(createPersonEvent);
+    }
+
+    @Benchmark
+    public UpdatePersonRequest toUpdateRequest() {
+        return personEventMapper.toUpdateRequest(updatePersonEvent);
+    }
+
+    @Benchmark
+    public FailPersonEvent extractCreatePersonEvent() {
+        return personEventMapper.extractCreatePersonEvent(createPersonEvent);
+    }
+
+    @Benchmark
+    public CreatePersonEvent extractFailPersonEvent() {
+        return personEventMapper.extractFailPersonEvent(failPersonEvent);
+    }
+}
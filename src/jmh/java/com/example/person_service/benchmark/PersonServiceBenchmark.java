@@ -0,0 +1,86 @@
+package com.example.person_service.benchmark;
+
+import com.example.person_service.dto.request.CreatePersonRequest;
+import com.example.person_service.dto.response.PersonResponse;
+import com.example.person_service.service.PersonService;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonServiceBenchmark {
+    private static final int SEEDED_PERSONS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private PersonService personService;
+    private long nextTaxNumber;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        personService = context.getBean(PersonService.class);
+        for (int i = 0; i < SEEDED_PERSONS; i++) {
+            personService.createPerson(request(nextTaxNumber++));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // validation regex, duplicate lookup and insert of a new person
+    @Benchmark
+    public PersonResponse createPerson() {
+        return personService.createPerson(request(nextTaxNumber++));
+    }
+
+    // rejected by the tax number regex before touching the database
+    @Benchmark
+    public String createPersonInvalidTaxNumber() {
+        try {
+            personService.createPerson(CreatePersonRequest.builder()
+                    .firstName("Invalid")
+                    .lastName("Person")
+                    .dob(LocalDate.of(1990, 1, 1))
+                    .taxNumber("XX123")
+                    .build());
+            return null;
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public List<PersonResponse> findAllFirstPage() {
+        return personService.findAll(PageRequest.of(0, 100));
+    }
+
+    private static CreatePersonRequest request(long sequence) {
+        return CreatePersonRequest.builder()
+                .firstName("firstName_" + sequence)
+                .lastName("lastName_" + sequence)
+                .dob(LocalDate.of(1970, 1, 1).plusDays(sequence % 15000))
+                .taxNumber(String.format("VN%09d", sequence))
+                .build();
+    }
+}
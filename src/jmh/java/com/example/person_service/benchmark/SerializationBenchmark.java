@@ -0,0 +1,112 @@
+package com.example.person_service.benchmark;
+
+import com.example.person_service.dto.request.BaseEvent;
+import com.example.person_service.dto.request.CreatePersonEvent;
+import com.example.person_service.intergration.kafka.serde.PersonEventDeserializer;
+import com.example.person_service.intergration.kafka.serde.PersonEventSerializer;
+import com.example.person_service.utils.MockDataGenerator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Round trips through the same serializer pair the producer and consumer factories use. The typed variant carries
+ * the {@code __TypeId__} header, the {@link BaseEvent} variant falls back to the default value type. The
+ * {@code binary} variants use the schema-versioned codec the producers switch to with
+ * {@code person.event.kafka.producer.payload-format=binary}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    private static final String TOPIC = "benchmark-topic";
+
+    private JsonSerializer<Object> serializer;
+    private JsonDeserializer<Object> typedDeserializer;
+    private JsonDeserializer<Object> baseEventDeserializer;
+    private PersonEventSerializer binarySerializer;
+    private PersonEventDeserializer binaryDeserializer;
+    private CreatePersonEvent createPersonEvent;
+    private BaseEvent baseEvent;
+
+    @Setup
+    public void setUp() {
+        serializer = new JsonSerializer<>();
+        typedDeserializer = new JsonDeserializer<>();
+        typedDeserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "com.example.person_service.dto.request"), false);
+        baseEventDeserializer = new JsonDeserializer<>();
+        baseEventDeserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "com.example.person_service.dto.request",
+                JsonDeserializer.USE_TYPE_INFO_HEADERS, false,
+                JsonDeserializer.VALUE_DEFAULT_TYPE, BaseEvent.class.getName()), false);
+        binarySerializer = new PersonEventSerializer();
+        binarySerializer.configure(Map.of(PersonEventSerializer.PAYLOAD_FORMAT, "BINARY"), false);
+        binaryDeserializer = new PersonEventDeserializer();
+        binaryDeserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "com.example.person_service.dto.request"), false);
+        createPersonEvent = MockDataGenerator.generateRandomCreatePersonEvent(1);
+        baseEvent = MockDataGenerator.generateRandomReadPersonRequest(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+        typedDeserializer.close();
+        baseEventDeserializer.close();
+        binarySerializer.close();
+        binaryDeserializer.close();
+    }
+
+    @Benchmark
+    public Object createPersonEventRoundTrip() {
+        RecordHeaders headers = new RecordHeaders();
+        byte[] payload = serializer.serialize(TOPIC, headers, createPersonEvent);
+        return typedDeserializer.deserialize(TOPIC, headers, payload);
+    }
+
+    @Benchmark
+    public Object baseEventRoundTrip() {
+        RecordHeaders headers = new RecordHeaders();
+        byte[] payload = serializer.serialize(TOPIC, headers, baseEvent);
+        return baseEventDeserializer.deserialize(TOPIC, headers, payload);
+    }
+
+    @Benchmark
+    public byte[] serializeCreatePersonEvent() {
+        return serializer.serialize(TOPIC, new RecordHeaders(), createPersonEvent);
+    }
+
+    @Benchmark
+    public Object createPersonEventRoundTripBinary() {
+        RecordHeaders headers = new RecordHeaders();
+        byte[] payload = binarySerializer.serialize(TOPIC, headers, createPersonEvent);
+        return binaryDeserializer.deserialize(TOPIC, headers, payload);
+    }
+
+    @Benchmark
+    public Object baseEventRoundTripBinary() {
+        RecordHeaders headers = new RecordHeaders();
+        byte[] payload = binarySerializer.serialize(TOPIC, headers, baseEvent);
+        return binaryDeserializer.deserialize(TOPIC, headers, payload);
+    }
+
+    @Benchmark
+    public byte[] serializeCreatePersonEventBinary() {
+        return binarySerializer.serialize(TOPIC, new RecordHeaders(), createPersonEvent);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.person_service.benchmark;
+
+import com.example.person_service.utils.TaxNumber;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Isolates the tax number check done on every {@code PersonService.createPerson} call: the original
+ * {@link String#matches}, which compiles the regex each time, a precompiled pattern, and the {@link TaxNumber} char
+ * scan now in use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaxNumberValidationBenchmark {
+    private static final String VIETNAM_TAX_PATTERN = "^VN[0-9]{9}$";
+    private static final Pattern COMPILED_VIETNAM_TAX_PATTERN = Pattern.compile(VIETNAM_TAX_PATTERN);
+
+    @Param({"VN123456789", "VN12345678X"})
+    public String taxNumber;
+
+    @Benchmark
+    public boolean stringMatches() {
+        return taxNumber.matches(VIETNAM_TAX_PATTERN);
+    }
+
+    @Benchmark
+    public boolean precompiledPattern() {
+        return COMPILED_VIETNAM_TAX_PATTERN.matcher(taxNumber).matches();
+    }
+
+    @Benchmark
+    public String taxNumberNormalize() {
+        return TaxNumber.normalize(taxNumber);
+    }
+
+    @Benchmark
+    public long taxNumberPack() {
+        return TaxNumber.pack(taxNumber);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.person_service.benchmark;
+
+import com.example.person_service.entity.TimeOrderedUuidGenerator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class UuidGenerationBenchmark {
+
+    @Benchmark
+    public UUID randomV4() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public UUID timeOrderedV7() {
+        return TimeOrderedUuidGenerator.next();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.person_service.benchmark;
+
+import com.example.person_service.entity.TimeOrderedUuidGenerator;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Bulk inserts into a table shaped like {@code persons}, comparing random v4 with time-ordered v7 primary keys. One
+ * invocation inserts {@code rows} rows into an empty table, so the score is the time for the whole load. Excluded
+ * from the default run because of its size:
+ *
+ * <pre>mvn -Pbenchmark verify -Djmh.include=UuidInsertBenchmark -Djmh.exclude=none</pre>
+ *
+ * Runs against an H2 file database under {@code target/} unless {@code BENCHMARK_JDBC_URL} (plus
+ * {@code BENCHMARK_JDBC_USER}/{@code BENCHMARK_JDBC_PASSWORD}) points at a real Postgres.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Timeout(time = 1, timeUnit = TimeUnit.HOURS)
+public class UuidInsertBenchmark {
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"v4", "v7"})
+    public String idVersion;
+
+    @Param({"10000000"})
+    public int rows;
+
+    private Connection connection;
+    private Supplier<UUID> ids;
+
+    @Setup(Level.Trial)
+    public void connect() throws SQLException {
+        String url = System.getenv().getOrDefault("BENCHMARK_JDBC_URL",
+                "jdbc:h2:file:./target/uuid-insert-benchmark;MODE=PostgreSQL");
+        connection = DriverManager.getConnection(url, System.getenv().getOrDefault("BENCHMARK_JDBC_USER", "sa"),
+                System.getenv().getOrDefault("BENCHMARK_JDBC_PASSWORD", ""));
+        connection.setAutoCommit(false);
+        ids = "v7".equals(idVersion) ? TimeOrderedUuidGenerator::next : UUID::randomUUID;
+    }
+
+    @Setup(Level.Iteration)
+    public void recreateTable() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS uuid_insert_benchmark");
+            statement.execute("CREATE TABLE uuid_insert_benchmark (id UUID PRIMARY KEY, last_name VARCHAR(50), "
+                    + "tax_number_digits INTEGER NOT NULL)");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void disconnect() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS uuid_insert_benchmark");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    public int insertRows() throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO uuid_insert_benchmark (id, last_name, tax_number_digits) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                insert.setObject(1, ids.get());
+                insert.setString(2, "lastName_" + i);
+                insert.setInt(3, i);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        return rows;
+    }
+}
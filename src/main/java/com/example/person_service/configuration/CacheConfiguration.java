@@ -0,0 +1,35 @@
+package com.example.person_service.configuration;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfiguration {
+    public static final String PERSONS_BY_TAX_NUMBER = "personsByTaxNumber";
+    // PERSONS_BY_TAX_NUMBER is keyed by the packed tax number digits, so equivalent spellings share one entry
+    public static final String TAX_NUMBER_KEY = "T(com.example.person_service.utils.TaxNumber).cacheKey(#taxNumber)";
+    public static final String TAX_ID_KEY = "T(com.example.person_service.utils.TaxNumber).cacheKey(#taxId)";
+    public static final String REQUEST_TAX_NUMBER_KEY =
+            "T(com.example.person_service.utils.TaxNumber).cacheKey(#request.taxNumber)";
+
+    /**
+     * Caffeine caches configured from {@code spring.cache.*}. Evictions are deferred until the surrounding transaction
+     * commits so a concurrent read cannot put the pre-update row back into the cache.
+     */
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        caffeineCacheManager.setCacheNames(cacheProperties.getCacheNames());
+        caffeineCacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.person_service.configuration;
+
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * The purge schedule itself is read by {@code @Scheduled} from {@code person.event.idempotency.purge-interval}.
+ */
+@Validated
+@ConfigurationProperties(prefix = "person.event.idempotency")
+public record IdempotencyProperties(
+        // keys kept in memory, a miss falls through to the processed_event table
+        @Min(0)
+        @DefaultValue("200000")
+        long cacheSize,
+        // how long processed keys are remembered; must exceed the longest redelivery window
+        @DefaultValue("P7D")
+        Duration retention
+) {
+}
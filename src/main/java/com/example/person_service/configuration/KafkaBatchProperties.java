@@ -0,0 +1,98 @@
+package com.example.person_service.configuration;
+
+import com.example.person_service.constant.BatchProcessingMode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "person.event.kafka.batch")
+public record KafkaBatchProperties(
+        @DefaultValue("RECORD")
+        BatchProcessingMode mode,
+        @Min(1)
+        @Max(10000)
+        @DefaultValue("500")
+        int maxPollRecords,
+        @Min(1)
+        @DefaultValue("1")
+        int fetchMinBytes,
+        @Min(0)
+        @Max(60000)
+        @DefaultValue("500")
+        int fetchMaxWaitMs,
+        @Min(1)
+        @Max(64)
+        @DefaultValue("1")
+        int concurrency,
+        // threads used to run independent key chains of one poll in parallel; 0 means one per CPU
+        @Min(0)
+        @Max(256)
+        @DefaultValue("0")
+        int workerThreads,
+        @Valid
+        @DefaultValue
+        Adaptive adaptive,
+        Map<String, @Valid Listener> listeners
+) {
+    public KafkaBatchProperties {
+        listeners = listeners == null ? Map.of() : Map.copyOf(listeners);
+    }
+
+    /**
+     * Returns the settings of the first topic that has an override, falling back to the global values.
+     */
+    public Listener resolve(String... topics) {
+        Listener override = Arrays.stream(topics)
+                .map(listeners::get)
+                .filter(listener -> listener != null)
+                .findFirst()
+                .orElse(new Listener(null, null, null, null));
+        return new Listener(
+                override.maxPollRecords() != null ? override.maxPollRecords() : maxPollRecords,
+                override.fetchMinBytes() != null ? override.fetchMinBytes() : fetchMinBytes,
+                override.fetchMaxWaitMs() != null ? override.fetchMaxWaitMs() : fetchMaxWaitMs,
+                override.concurrency() != null ? override.concurrency() : concurrency);
+    }
+
+    public record Adaptive(
+            boolean enabled,
+            @Min(1)
+            @DefaultValue("10")
+            int minPollRecords,
+            @Min(1)
+            @Max(10000)
+            @DefaultValue("5000")
+            int maxPollRecords,
+            @DecimalMin("0.05")
+            @DecimalMax("0.9")
+            @DefaultValue("0.5")
+            double targetUtilization,
+            @DefaultValue("PT30S")
+            Duration adjustInterval
+    ) {
+    }
+
+    public record Listener(
+            @Min(1)
+            @Max(10000)
+            Integer maxPollRecords,
+            @Min(1)
+            Integer fetchMinBytes,
+            @Min(0)
+            @Max(60000)
+            Integer fetchMaxWaitMs,
+            @Min(1)
+            @Max(64)
+            Integer concurrency
+    ) {
+    }
+}
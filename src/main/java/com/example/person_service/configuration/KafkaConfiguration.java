@@ -1,12 +1,16 @@
 package com.example.person_service.configuration;
 
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.Properties;
 
-import com.example.person_service.dto.request.CreatePersonEvent;
-import com.example.person_service.dto.request.ReadPersonEvent;
-import com.example.person_service.dto.request.UpdatePersonEvent;
+import com.example.person_service.constant.ProducerProfile;
+import com.example.person_service.dto.request.BaseEvent;
 import com.example.person_service.entity.FailPersonEvent;
+import com.example.person_service.intergration.kafka.consumer.AdaptiveBatchSizeController;
+import com.example.person_service.intergration.kafka.serde.PersonEventDeserializer;
+import com.example.person_service.intergration.kafka.serde.PersonEventSerializer;
 import com.example.person_service.service.FailPersonEventService;
 import com.example.person_service.utils.PersonEventMapper;
 import lombok.RequiredArgsConstructor;
@@ -15,13 +19,19 @@ import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.ssl.DefaultSslBundleRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.TopicBuilder;
@@ -30,6 +40,7 @@ import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
@@ -42,12 +53,19 @@ import org.springframework.util.backoff.FixedBackOff;
 @RequiredArgsConstructor
 @Slf4j
 @EnableKafka
-@EnableConfigurationProperties(KafkaRetryProperties.class)
+@EnableConfigurationProperties({KafkaRetryProperties.class, KafkaBatchProperties.class, KafkaProducerProperties.class})
 public class KafkaConfiguration {
+    // event payloads are deserialized from the __TypeId__ header, so only our own DTOs may be instantiated
+    private static final String TRUSTED_PACKAGES = "com.example.person_service.dto.request";
+    public static final String PERSON_STATE_TOPIC = "person-state";
     private final KafkaProperties kafkaProperties;
     private final KafkaRetryProperties kafkaRetryProperties;
+    private final KafkaBatchProperties kafkaBatchProperties;
+    private final KafkaProducerProperties kafkaProducerProperties;
+    private final ObjectProvider<AdaptiveBatchSizeController> adaptiveBatchSizeController;
     private final FailPersonEventService failPersonEventService;
     private final PersonEventMapper personEventMapper;
+    private final Environment environment;
     private final String manualConsumptionTopic = "manual-consumption-topic";
     private final String group_id = "manual-consumption-group";
 
@@ -55,7 +73,7 @@ public class KafkaConfiguration {
     public ConsumerFactory<String, Object> consumerFactory() {
         Map<String, Object> configProps = kafkaProperties.buildConsumerProperties(new DefaultSslBundleRegistry());
         // JSON config
-        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.netcompany.internal.training.exercise.dto.request");
+        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, TRUSTED_PACKAGES);
         // consumer config
         configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         configProps.put(ProducerConfig.RETRY_BACKOFF_MAX_MS_CONFIG, 5000);
@@ -63,25 +81,51 @@ public class KafkaConfiguration {
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
-        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, PersonEventDeserializer.class);
         return new DefaultKafkaConsumerFactory<>(configProps);
     }
 
     @Bean
+    @Primary
     public ProducerFactory<String, Object> producerFactory() {
+        return createProducerFactory(ProducerProfile.LOW_LATENCY);
+    }
+
+    @Bean(name = {"kafkaTemplate", "lowLatencyKafkaTemplate"})
+    @Primary
+    public KafkaTemplate<String, Object> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
+
+    @Bean
+    public ProducerFactory<String, Object> highThroughputProducerFactory() {
+        return createProducerFactory(ProducerProfile.HIGH_THROUGHPUT);
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> highThroughputKafkaTemplate() {
+        return new KafkaTemplate<>(highThroughputProducerFactory());
+    }
+
+    private ProducerFactory<String, Object> createProducerFactory(ProducerProfile producerProfile) {
         Map<String, Object> configProps = kafkaProperties.buildProducerProperties(new DefaultSslBundleRegistry());
         configProps.put(ProducerConfig.RETRIES_CONFIG, kafkaRetryProperties.attempts());
         configProps.put(ProducerConfig.RETRY_BACKOFF_MS_CONFIG, kafkaRetryProperties.interval());
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, PersonEventSerializer.class);
+        configProps.put(PersonEventSerializer.PAYLOAD_FORMAT, kafkaProducerProperties.payloadFormat().name());
+        // batching profile
+        KafkaProducerProperties.Profile profile = kafkaProducerProperties.profile(producerProfile);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, profile.lingerMs());
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, profile.batchSize());
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, profile.compressionType());
+        configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, profile.bufferMemory());
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, profile.maxInFlightRequestsPerConnection());
+        configProps.put(ProducerConfig.CLIENT_ID_CONFIG, "person-service-" + producerProfile.name().toLowerCase().replace('_', '-'));
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
-    @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
-    }
-
     @Bean
     public DefaultErrorHandler errorHandler(KafkaTemplate<String, Object> kafkaTemplate) {
         DefaultErrorHandler errorHandler = getDefaultErrorHandler(kafkaTemplate);
@@ -96,18 +140,11 @@ public class KafkaConfiguration {
                     try {
                         log.info("Saved exceeded attempt event to database before DLT: eventId={}",
                                 record.value());
-                        FailPersonEvent failPersonEvent = null;
-                        if (record.value() instanceof CreatePersonEvent) {
-                            failPersonEvent =
-                                    personEventMapper.extractCreatePersonEvent((CreatePersonEvent) record.value());
-                        } else if (record.value() instanceof ReadPersonEvent) {
-                            failPersonEvent =
-                                    personEventMapper.extractReadPersonEvent((ReadPersonEvent) record.value());
-                        } else if (record.value() instanceof UpdatePersonEvent) {
-                            failPersonEvent =
-                                    personEventMapper.extractUpdatePersonEvent((UpdatePersonEvent) record.value());
+                        FailPersonEvent failPersonEvent = record.value() instanceof BaseEvent event
+                                ? personEventMapper.toFailPersonEvent(event) : null;
+                        if (failPersonEvent != null) {
+                            failPersonEventService.save(failPersonEvent);
                         }
-                        failPersonEventService.save(failPersonEvent);
                     } catch (Exception dbException) {
                         log.error("Failed to save to database, but continuing with DLT send", dbException);
                     }
@@ -123,13 +160,15 @@ public class KafkaConfiguration {
     public ConsumerFactory<String, Object> batchConsumerFactory() {
         Map<String, Object> configProps = kafkaProperties.buildConsumerProperties(new DefaultSslBundleRegistry());
         configProps.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
-        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, PersonEventDeserializer.class);
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
-        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.netcompany.internal.training.exercise.dto.request");
+        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, TRUSTED_PACKAGES);
         // Batch config
         configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
-        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 3);
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, kafkaBatchProperties.maxPollRecords());
+        configProps.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, kafkaBatchProperties.fetchMinBytes());
+        configProps.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, kafkaBatchProperties.fetchMaxWaitMs());
         return new DefaultKafkaConsumerFactory<>(configProps);
     }
 
@@ -142,6 +181,7 @@ public class KafkaConfiguration {
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         factory.setBatchListener(false);
         factory.setCommonErrorHandler(errorHandler(kafkaTemplate));
+        applyContainerDefaults(factory);
         return factory;
     }
 
@@ -152,10 +192,42 @@ public class KafkaConfiguration {
         factory.setConsumerFactory(batchConsumerFactory());
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
         factory.setBatchListener(true);
+        factory.setConcurrency(kafkaBatchProperties.concurrency());
+        factory.setContainerCustomizer(this::applyListenerOverrides);
+        adaptiveBatchSizeController.ifAvailable(factory::setBatchInterceptor);
         factory.setCommonErrorHandler(errorHandler(kafkaTemplate));
+        applyContainerDefaults(factory);
         return factory;
     }
 
+    /**
+     * Honors spring.kafka.listener.auto-startup like Boot's own factory would. With spring.threads.virtual.enabled on
+     * Java 21 each consumer loop runs on its own virtual thread instead of a pooled platform thread.
+     */
+    private void applyContainerDefaults(ConcurrentKafkaListenerContainerFactory<String, Object> factory) {
+        factory.setAutoStartup(kafkaProperties.getListener().isAutoStartup());
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("kafka-listener-");
+            executor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(executor);
+        }
+    }
+
+    private void applyListenerOverrides(ConcurrentMessageListenerContainer<String, Object> container) {
+        String[] topics = container.getContainerProperties().getTopics();
+        if (topics == null) {
+            return;
+        }
+        KafkaBatchProperties.Listener listener = kafkaBatchProperties.resolve(topics);
+        Properties consumerProperties = new Properties();
+        consumerProperties.putAll(container.getContainerProperties().getKafkaConsumerProperties());
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(listener.maxPollRecords()));
+        consumerProperties.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, String.valueOf(listener.fetchMinBytes()));
+        consumerProperties.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, String.valueOf(listener.fetchMaxWaitMs()));
+        container.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
+        container.setConcurrency(listener.concurrency());
+    }
+
     @Bean
     public NewTopic createManualConsumptionTopic() {
         return TopicBuilder.name(manualConsumptionTopic)
@@ -164,6 +236,28 @@ public class KafkaConfiguration {
                 .build();
     }
 
+    @Bean
+    public NewTopic personChangeEventsTopic() {
+        return TopicBuilder.name("person-change-events")
+                .partitions(6)
+                .replicas(1)
+                .build();
+    }
+
+    /**
+     * Compacted, so a replay only reads the latest state per tax number. Short segments let the cleaner reach new
+     * writes within the hour instead of after the default week-long segment roll.
+     */
+    @Bean
+    public NewTopic personStateTopic() {
+        return TopicBuilder.name(PERSON_STATE_TOPIC)
+                .partitions(6)
+                .replicas(1)
+                .compact()
+                .config(TopicConfig.SEGMENT_MS_CONFIG, String.valueOf(Duration.ofHours(1).toMillis()))
+                .build();
+    }
+
     @Bean("manualConsumerFactory")
     public ConsumerFactory<String, Object> manualConsumerFactory() {
         Map<String, Object> configProps = kafkaProperties.buildConsumerProperties(new DefaultSslBundleRegistry());
@@ -175,8 +269,8 @@ public class KafkaConfiguration {
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         configProps.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class);
-        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
-        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.netcompany.internal.training.exercise.dto.request");
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, PersonEventDeserializer.class);
+        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, TRUSTED_PACKAGES);
         return new DefaultKafkaConsumerFactory<>(configProps);
     }
 }
\ No newline at end of file
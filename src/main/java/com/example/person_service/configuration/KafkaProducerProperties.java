@@ -0,0 +1,69 @@
+package com.example.person_service.configuration;
+
+import com.example.person_service.constant.PayloadFormat;
+import com.example.person_service.constant.ProducerProfile;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "person.event.kafka.producer")
+public record KafkaProducerProperties(
+        // 0 disables the in-flight bound
+        @Min(0)
+        @DefaultValue("0")
+        int maxInFlight,
+        @DefaultValue("PT5S")
+        Duration acquireTimeout,
+        @DefaultValue("PT10S")
+        Duration ackTimeout,
+        // consumers read both formats, so BINARY is safe once every consumer runs a build that has the codec
+        @DefaultValue("JSON")
+        PayloadFormat payloadFormat,
+        Map<ProducerProfile, @Valid Profile> profiles,
+        Map<String, ProducerProfile> topicProfiles
+) {
+    private static final Map<ProducerProfile, Profile> DEFAULT_PROFILES = Map.of(
+            ProducerProfile.LOW_LATENCY, new Profile(0, 16_384, "lz4", 33_554_432L, 5),
+            ProducerProfile.HIGH_THROUGHPUT, new Profile(50, 262_144, "zstd", 134_217_728L, 5));
+
+    public KafkaProducerProperties {
+        Map<ProducerProfile, Profile> merged = new EnumMap<>(DEFAULT_PROFILES);
+        if (profiles != null) {
+            merged.putAll(profiles);
+        }
+        profiles = Map.copyOf(merged);
+        topicProfiles = topicProfiles == null ? Map.of() : Map.copyOf(topicProfiles);
+    }
+
+    public Profile profile(ProducerProfile producerProfile) {
+        return profiles.get(producerProfile);
+    }
+
+    public ProducerProfile profileForTopic(String topic) {
+        return topicProfiles.getOrDefault(topic, ProducerProfile.LOW_LATENCY);
+    }
+
+    public record Profile(
+            @Min(0)
+            int lingerMs,
+            @Min(0)
+            int batchSize,
+            @NotBlank
+            String compressionType,
+            @Min(1)
+            long bufferMemory,
+            // idempotence requires at most 5
+            @Min(1)
+            @Max(5)
+            int maxInFlightRequestsPerConnection
+    ) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.person_service.configuration;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "person.outbox")
+public record OutboxProperties(
+        // off on instances that should only write to the outbox
+        @DefaultValue("true")
+        boolean relayEnabled,
+        @DefaultValue("PT0.2S")
+        Duration relayInterval,
+        // rows published and deleted per transaction
+        @Min(1)
+        @Max(50000)
+        @DefaultValue("1000")
+        int relayBatchSize
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.person_service.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({TaxLedgerProperties.class, IdempotencyProperties.class, OutboxProperties.class})
+public class SchedulingConfiguration {
+}
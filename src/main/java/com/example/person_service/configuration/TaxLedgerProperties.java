@@ -0,0 +1,20 @@
+package com.example.person_service.configuration;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * The compaction schedule itself is read by {@code @Scheduled} from {@code person.tax.ledger.compaction-interval}.
+ */
+@Validated
+@ConfigurationProperties(prefix = "person.tax.ledger")
+public record TaxLedgerProperties(
+        @Min(1)
+        @Max(50000)
+        @DefaultValue("5000")
+        int compactionBatchSize
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.person_service.constant;
+
+public enum BatchProcessingMode {
+    // one record at a time on the container thread
+    RECORD,
+    // the whole poll persisted through a single bulk insert
+    BULK,
+    // records spread over the worker pool, ordered per key
+    PARALLEL
+}
@@ -1,5 +1,6 @@
 package com.example.person_service.constant;
 
+// binary Kafka payloads store the ordinal, so new constants may only be appended
 public enum EventType {
     CREATE_PERSON,
     READ_PERSON,
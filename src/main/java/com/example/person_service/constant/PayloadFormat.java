@@ -0,0 +1,6 @@
+package com.example.person_service.constant;
+
+public enum PayloadFormat {
+    JSON,
+    BINARY
+}
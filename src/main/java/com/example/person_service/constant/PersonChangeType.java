@@ -0,0 +1,9 @@
+package com.example.person_service.constant;
+
+// binary Kafka payloads store the ordinal, so new constants may only be appended
+public enum PersonChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    TAX_DEBT_ADDED
+}
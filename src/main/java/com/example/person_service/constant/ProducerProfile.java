@@ -0,0 +1,6 @@
+package com.example.person_service.constant;
+
+public enum ProducerProfile {
+    LOW_LATENCY,
+    HIGH_THROUGHPUT
+}
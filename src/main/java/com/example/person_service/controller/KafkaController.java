@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,51 +35,62 @@ public class KafkaController {
 
     @PostMapping
     public ApiResponse<Void> createPerson(
-            @Valid @RequestBody CreatePersonRequest request) {
-        kafkaProducerService.sendCreatePerson("create_person_topic", request);
-        return ApiResponse.<Void>builder()
-                .code(HttpStatus.ACCEPTED.value())
-                .message("Person creation request accepted")
-                .build();
+            @Valid @RequestBody CreatePersonRequest request,
+            @RequestParam(defaultValue = "false") boolean waitForAck) {
+        var future = kafkaProducerService.sendCreatePerson("create_person_topic", request);
+        return accepted(future, waitForAck, "Person creation request accepted");
     }
 
     @PutMapping
     public ApiResponse<Void> updatePerson(
-            @Valid @RequestBody UpdatePersonRequest request) {
-        kafkaProducerService.sendUpdatePerson("update_person_topic", request);
-        return ApiResponse.<Void>builder()
-                .code(HttpStatus.ACCEPTED.value())
-                .message("Person modification request accepted")
-                .build();
+            @Valid @RequestBody UpdatePersonRequest request,
+            @RequestParam(defaultValue = "false") boolean waitForAck) {
+        var future = kafkaProducerService.sendUpdatePerson("update_person_topic", request);
+        return accepted(future, waitForAck, "Person modification request accepted");
     }
 
     @DeleteMapping
     public ApiResponse<Void> deletePerson(
-            @Valid @RequestBody DeletePersonRequest request) {
-        kafkaProducerService.sendDeletePerson("delete_person_topic", request);
-        return ApiResponse.<Void>builder()
-                .code(HttpStatus.ACCEPTED.value())
-                .message("Person removal request accepted")
-                .build();
+            @Valid @RequestBody DeletePersonRequest request,
+            @RequestParam(defaultValue = "false") boolean waitForAck) {
+        var future = kafkaProducerService.sendDeletePerson("delete_person_topic", request);
+        return accepted(future, waitForAck, "Person removal request accepted");
     }
 
     @PostMapping("/tax-debts")
     public ApiResponse<Void> addPersonTaxDebt(
-            @Valid @RequestBody CalculateTaxRequest request) {
-        kafkaProducerService.sendCalculateTax("tax_calculation_topic", request);
-        return ApiResponse.<Void>builder()
-                .code(HttpStatus.ACCEPTED.value())
-                .message("Person tax debt calculation request accepted")
-                .build();
+            @Valid @RequestBody CalculateTaxRequest request,
+            @RequestParam(defaultValue = "false") boolean waitForAck) {
+        var future = kafkaProducerService.sendCalculateTax("tax_calculation_topic", request);
+        return accepted(future, waitForAck, "Person tax debt calculation request accepted");
     }
 
     @PostMapping("/send")
-    public ResponseEntity<String> sendMultipleItems(@RequestBody List<CreatePersonRequest> requests) {
+    public ResponseEntity<String> sendMultipleItems(@RequestBody List<CreatePersonRequest> requests,
+                                                    @RequestParam(defaultValue = "false") boolean waitForAck) {
         log.info("Sending {} messages concurrently", requests.size());
-        kafkaProducerService.sendMultipleMessages(requests);
+        var future = kafkaProducerService.sendMultipleMessages(requests);
+        if (waitForAck) {
+            kafkaProducerService.awaitAck(future);
+            return ResponseEntity.ok(requests.size() + " messages acknowledged");
+        }
         return ResponseEntity.ok(requests.size() + " messages sent");
     }
 
+    private ApiResponse<Void> accepted(CompletableFuture<?> future, boolean waitForAck, String message) {
+        if (waitForAck) {
+            kafkaProducerService.awaitAck(future);
+            return ApiResponse.<Void>builder()
+                    .code(HttpStatus.OK.value())
+                    .message(message + " and acknowledged by Kafka")
+                    .build();
+        }
+        return ApiResponse.<Void>builder()
+                .code(HttpStatus.ACCEPTED.value())
+                .message(message)
+                .build();
+    }
+
     @PostMapping("/send-fail-batch")
     public ResponseEntity<Map<String, Object>> sendFailBatch(@RequestBody List<CreatePersonRequest> requests) {
 
@@ -131,8 +143,7 @@ public class KafkaController {
             eventList.add(updatePersonEvent);
         }
         for (BaseEvent baseEvent : eventList) {
-            String key = "batch-" + System.currentTimeMillis();
-            kafkaProducerService.sendDependentEvents(baseEvent, key);
+            kafkaProducerService.sendDependentEvents(baseEvent);
         }
         return ResponseEntity.ok(Map.of(
                 "eventInBatch", size
@@ -152,9 +163,8 @@ public class KafkaController {
 
         }
         for (BaseEvent baseEvent : eventList) {
-            String key = "batch-" + System.currentTimeMillis();
             baseEvent.setCorrelationId(batchCorrelationId);
-            kafkaProducerService.sendFailDependentEvents(baseEvent, key);
+            kafkaProducerService.sendFailDependentEvents(baseEvent);
         }
         return ResponseEntity.ok(Map.of(
                 "eventInBatch", size
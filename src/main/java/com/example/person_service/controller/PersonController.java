@@ -1,11 +1,16 @@
 package com.example.person_service.controller;
 
+import com.example.person_service.dto.request.CreatePersonBatchRequest;
 import com.example.person_service.dto.request.CreatePersonRequest;
 import com.example.person_service.dto.request.UpdatePersonRequest;
 import com.example.person_service.dto.response.ApiResponse;
+import com.example.person_service.dto.response.CreatePersonBatchResponse;
 import com.example.person_service.dto.response.PersonResponse;
+import com.example.person_service.dto.response.PersonSliceResponse;
 import com.example.person_service.service.PersonService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -27,6 +32,9 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 @Validated
 public class PersonController {
+    // the scroll endpoints fetch size + 1 rows in one statement, so the page size is their only cost bound
+    private static final int MAX_SCROLL_SIZE = 100;
+
     private final PersonService personService;
     private PersonResponse[] response;
 
@@ -41,6 +49,17 @@ public class PersonController {
                 .build();
     }
 
+    @PostMapping("/batch")
+    public ApiResponse<CreatePersonBatchResponse> createPersons(
+            @Valid @RequestBody CreatePersonBatchRequest request) {
+        CreatePersonBatchResponse response = personService.createPersons(request.getPersons());
+        return ApiResponse.<CreatePersonBatchResponse>builder()
+                .code(201)
+                .message("Created persons in batch")
+                .result(response)
+                .build();
+    }
+
     @GetMapping("/taxes/{taxNumber}")
     public ApiResponse<PersonResponse> findByTaxNumber(
             @PathVariable String taxNumber) {
@@ -68,6 +87,19 @@ public class PersonController {
     }
 
 
+    @GetMapping("/scroll")
+    public ApiResponse<PersonSliceResponse> scrollPersons(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_SCROLL_SIZE) int size
+    ) {
+        PersonSliceResponse response = personService.scrollPersons(cursor, size);
+        return ApiResponse.<PersonSliceResponse>builder()
+                .code(HttpStatus.OK.value())
+                .message("List persons successfully")
+                .result(response)
+                .build();
+    }
+
     @GetMapping("/filter")
     public ApiResponse<List<PersonResponse>> filterPersons(@RequestParam(defaultValue = "Mi") String prefix,
                                                            @RequestParam(defaultValue = "30") Integer minAge,
@@ -82,6 +114,19 @@ public class PersonController {
                 .build();
     }
 
+    @GetMapping("/filter/scroll")
+    public ApiResponse<PersonSliceResponse> scrollFilteredPersons(@RequestParam(defaultValue = "Mi") String prefix,
+                                                                  @RequestParam(defaultValue = "30") Integer minAge,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "2") @Min(1) @Max(MAX_SCROLL_SIZE) int size) {
+        PersonSliceResponse response = personService.scrollFilteredPersons(prefix, minAge, cursor, size);
+        return ApiResponse.<PersonSliceResponse>builder()
+                .code(HttpStatus.OK.value())
+                .message("filter persons successfully")
+                .result(response)
+                .build();
+    }
+
     @PutMapping("")
     public ApiResponse<PersonResponse> updatePerson(@RequestParam String taxId,
                                                     @Valid @RequestBody UpdatePersonRequest request) {
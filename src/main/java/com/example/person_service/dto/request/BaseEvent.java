@@ -1,6 +1,8 @@
 package com.example.person_service.dto.request;
 
 import com.example.person_service.constant.EventType;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import jakarta.persistence.Id;
 
 import java.time.LocalDateTime;
@@ -11,10 +13,23 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
+/**
+ * Root of the person event hierarchy. JSON payloads pick their concrete class from {@code eventType}, so a listener
+ * typed on {@code BaseEvent} receives the subclass its handler expects; events without a type stay plain
+ * {@code BaseEvent}s.
+ */
 @Data
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "eventType",
+        visible = true, defaultImpl = BaseEvent.class)
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = CreatePersonEvent.class, name = "CREATE_PERSON"),
+        @JsonSubTypes.Type(value = ReadPersonEvent.class, name = "READ_PERSON"),
+        @JsonSubTypes.Type(value = UpdatePersonEvent.class, name = "UPDATE_PERSON"),
+        @JsonSubTypes.Type(value = DeletePersonEvent.class, name = "DELETE_PERSON")
+})
 public class BaseEvent {
     @Id
     private UUID id;
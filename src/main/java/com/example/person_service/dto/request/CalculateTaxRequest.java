@@ -1,5 +1,6 @@
 package com.example.person_service.dto.request;
 import java.math.BigDecimal;
+import com.example.person_service.validation.ValidTaxNumber;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +11,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CalculateTaxRequest {
+    @ValidTaxNumber
     String taxNumber;
     BigDecimal amount;
 }
\ No newline at end of file
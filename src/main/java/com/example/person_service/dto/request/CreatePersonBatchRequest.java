@@ -1,13 +1,19 @@
 package com.example.person_service.dto.request;
 
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.util.List;
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class CreatePersonBatchRequest {
+    @NotEmpty(message = "Persons are required")
+    @Size(max = 10000, message = "A batch can contain at most 10000 persons")
     private List<CreatePersonRequest> persons;
 }
@@ -1,5 +1,6 @@
 package com.example.person_service.dto.request;
 
+import com.example.person_service.validation.ValidTaxNumber;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
@@ -25,6 +26,6 @@ public class CreatePersonRequest {
     @Past(message = "Date of birth must be in the past")
     LocalDate dob;
     @NotBlank(message = "Tax number is required")
-    @Pattern(regexp = "VN\\d{9}", message = "Tax number must start with 'VN' followed by 9 digits")
+    @ValidTaxNumber
     String taxNumber;
 }
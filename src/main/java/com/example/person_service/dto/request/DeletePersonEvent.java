@@ -0,0 +1,17 @@
+package com.example.person_service.dto.request;
+
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+@AllArgsConstructor
+@SuperBuilder
+@ToString(callSuper = true)
+public class DeletePersonEvent extends BaseEvent {
+    private String taxNumber;
+
+    public DeletePersonEvent() {
+        super();
+    }
+}
@@ -1,4 +1,5 @@
 package com.example.person_service.dto.request;
+import com.example.person_service.validation.ValidTaxNumber;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,5 +10,6 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class DeletePersonRequest {
+    @ValidTaxNumber
     String taxNumber;
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.example.person_service.dto.request;
+
+import com.example.person_service.constant.PersonChangeType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change notification published from the outbox after a person write commits. {@code id} is the outbox row id, so
+ * consumers can deduplicate the relay's at-least-once delivery; {@code amount} is only set for
+ * {@link PersonChangeType#TAX_DEBT_ADDED}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonChangeEvent {
+    private UUID id;
+    private PersonChangeType changeType;
+    private String taxNumber;
+    private UUID personId;
+    private String firstName;
+    private String lastName;
+    private LocalDate dob;
+    private BigDecimal amount;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,29 @@
+package com.example.person_service.dto.request;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latest committed state of a person on the compacted {@code person-state} topic, keyed by tax number. A deleted
+ * person is a tombstone (null value) rather than an instance of this class. {@code taxDebt} already includes the
+ * un-compacted ledger entries.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonState {
+    private UUID id;
+    private String taxNumber;
+    private String firstName;
+    private String lastName;
+    private LocalDate dob;
+    private BigDecimal taxDebt;
+    private LocalDateTime updatedAt;
+}
@@ -1,5 +1,6 @@
 package com.example.person_service.dto.request;
 
+import com.example.person_service.validation.ValidTaxNumber;
 import java.time.LocalDate;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -17,5 +18,6 @@ public class UpdatePersonRequest {
     String firstName;
     String lastName;
     LocalDate dob;
+    @ValidTaxNumber
     String taxNumber;
 }
\ No newline at end of file
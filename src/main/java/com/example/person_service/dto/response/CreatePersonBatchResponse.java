@@ -0,0 +1,20 @@
+package com.example.person_service.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CreatePersonBatchResponse {
+    int total;
+    int succeeded;
+    int failed;
+    List<PersonBatchItemResponse> results;
+}
@@ -0,0 +1,21 @@
+package com.example.person_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PersonBatchItemResponse {
+    int index;
+    String taxNumber;
+    boolean success;
+    String message;
+    PersonResponse person;
+}
@@ -0,0 +1,44 @@
+package com.example.person_service.entity;
+
+import com.example.person_service.constant.PersonChangeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UuidGenerator;
+
+@Table(name = "outbox_event")
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEvent {
+    // time-ordered, but minted when the row is persisted rather than when its transaction commits, so ORDER BY id only
+    // approximates commit order; OutboxService describes the per-person order that does hold
+    @Id
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
+    UUID id;
+    @Enumerated(EnumType.STRING)
+    PersonChangeType changeType;
+    @Convert(converter = TaxNumberConverter.class)
+    @Column(name = "tax_number_digits", nullable = false)
+    String taxNumber;
+    UUID personId;
+    String firstName;
+    String lastName;
+    LocalDate dob;
+    BigDecimal amount;
+    LocalDateTime createdAt;
+}
@@ -1,7 +1,7 @@
 package com.example.person_service.entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import java.time.LocalDate;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -11,6 +11,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UuidGenerator;
 
 @Table(name = "persons")
 @Entity
@@ -18,19 +20,17 @@ import lombok.NoArgsConstructor;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-
+@DynamicUpdate
 public class Person {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     UUID id;
     String firstName;
     String lastName;
     LocalDate dob;
+    @Convert(converter = TaxNumberConverter.class)
+    @Column(name = "tax_number_digits", nullable = false)
     String taxNumber;
     @Builder.Default
     BigDecimal taxDebt = BigDecimal.ZERO;
-
-    public void addTaxDebt(BigDecimal amount) {
-        this.taxDebt = this.taxDebt.add(amount);
-    }
 }
\ No newline at end of file
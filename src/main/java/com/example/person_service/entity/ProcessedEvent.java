@@ -0,0 +1,37 @@
+package com.example.person_service.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Marker for a consumed record whose effects are committed. Rows are only ever inserted, so {@link #isNew()} is
+ * always true and {@code saveAll} issues batched INSERTs instead of a SELECT per assigned key.
+ */
+@Table(name = "processed_event")
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProcessedEvent implements Persistable<String> {
+    @Id
+    String eventKey;
+    LocalDateTime processedAt;
+
+    @Override
+    public String getId() {
+        return eventKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.person_service.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UuidGenerator;
+
+@Table(name = "tax_debt_ledger")
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaxDebtLedgerEntry {
+    @Id
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
+    UUID id;
+    @Convert(converter = TaxNumberConverter.class)
+    @Column(name = "tax_number_digits", nullable = false)
+    String taxNumber;
+    BigDecimal amount;
+    LocalDateTime createdAt;
+}
@@ -0,0 +1,23 @@
+package com.example.person_service.entity;
+
+import com.example.person_service.utils.TaxNumber;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a canonical tax number as its 9 digits in an INTEGER column; the {@code VN} prefix is implied. Query
+ * parameters compared against a converted attribute go through the same conversion, so lookups keep using strings.
+ */
+@Converter
+public class TaxNumberConverter implements AttributeConverter<String, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(String taxNumber) {
+        return taxNumber == null ? null : (int) TaxNumber.pack(TaxNumber.require(taxNumber));
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer digits) {
+        return digits == null ? null : TaxNumber.unpack(digits);
+    }
+}
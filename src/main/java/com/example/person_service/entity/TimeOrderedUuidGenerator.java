@@ -0,0 +1,38 @@
+package com.example.person_service.entity;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+/**
+ * UUIDv7 (RFC 9562) ids: a 48-bit millisecond timestamp, a 12-bit counter and 62 random bits. New ids sort after
+ * older ones, so primary key inserts append to the right edge of the b-tree instead of landing on random pages.
+ * Ids are strictly increasing within the JVM: the counter orders ids minted in the same millisecond and, if it
+ * overflows, borrows from the next millisecond.
+ */
+public class TimeOrderedUuidGenerator implements UuidValueGenerator {
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+
+    public static UUID next() {
+        return next(LAST_TIMESTAMP_AND_COUNTER, System.currentTimeMillis());
+    }
+
+    // state and clock passed in so tests can mint several ids within one millisecond
+    static UUID next(AtomicLong lastTimestampAndCounter, long currentTimeMillis) {
+        long candidate = currentTimeMillis << 12;
+        long timestampAndCounter = lastTimestampAndCounter.accumulateAndGet(candidate,
+                (last, now) -> now > last ? now : last + 1);
+        long timestamp = timestampAndCounter >>> 12;
+        long counter = timestampAndCounter & 0xFFF;
+        long mostSignificantBits = (timestamp << 16) | 0x7000L | counter;
+        long leastSignificantBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
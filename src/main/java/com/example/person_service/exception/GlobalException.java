@@ -1,6 +1,7 @@
 package com.example.person_service.exception;
 
 import com.example.person_service.dto.response.ApiResponse;
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -42,4 +43,21 @@ public class GlobalException {
                 .status(HttpStatus.UNPROCESSABLE_ENTITY)
                 .body(apiResponse);
     }
+
+    @ExceptionHandler(value = ConstraintViolationException.class)
+    ResponseEntity<ApiResponse> handleConstraintViolations(ConstraintViolationException exception) {
+        Map<String, String> errors = new HashMap<>();
+        ApiResponse apiResponse = new ApiResponse();
+        ErrorCode errorCode = new ErrorCode(HttpStatus.BAD_REQUEST.value(), "Validation Exception");
+
+        exception.getConstraintViolations().forEach(violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage())
+        );
+        apiResponse.setResult(errors);
+        apiResponse.setCode(errorCode.getErrorCode());
+        apiResponse.setMessage(errorCode.getErrorMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(apiResponse);
+    }
 }
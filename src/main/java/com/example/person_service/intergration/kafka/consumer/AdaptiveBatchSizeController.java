@@ -0,0 +1,125 @@
+package com.example.person_service.intergration.kafka.consumer;
+
+import com.example.person_service.configuration.KafkaBatchProperties;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Observes how long each batch listener takes per record and periodically resizes {@code max.poll.records} so a poll
+ * uses about {@code target-utilization} of {@code max.poll.interval.ms}. A resize restarts the listener container,
+ * so a new size is only applied when it differs from the current one by more than {@link #HYSTERESIS}.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "person.event.kafka.batch.adaptive", name = "enabled", havingValue = "true")
+public class AdaptiveBatchSizeController implements BatchInterceptor<String, Object> {
+    private static final double EMA_WEIGHT = 0.2;
+    private static final double HYSTERESIS = 1.5;
+    private static final long DEFAULT_MAX_POLL_INTERVAL_MS = 300_000L;
+
+    private final KafkaBatchProperties kafkaBatchProperties;
+    private final KafkaListenerEndpointRegistry registry;
+    private final long maxPollIntervalMs;
+    private final ThreadLocal<Long> batchStartedAt = new ThreadLocal<>();
+    private final Map<String, Double> nanosPerRecord = new ConcurrentHashMap<>();
+    private final Map<String, Integer> currentPollRecords = new ConcurrentHashMap<>();
+
+    public AdaptiveBatchSizeController(KafkaBatchProperties kafkaBatchProperties,
+                                       KafkaListenerEndpointRegistry registry,
+                                       KafkaProperties kafkaProperties) {
+        this.kafkaBatchProperties = kafkaBatchProperties;
+        this.registry = registry;
+        String configured = kafkaProperties.getConsumer().getProperties()
+                .get(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG);
+        this.maxPollIntervalMs = configured != null ? Long.parseLong(configured) : DEFAULT_MAX_POLL_INTERVAL_MS;
+    }
+
+    @Override
+    public ConsumerRecords<String, Object> intercept(ConsumerRecords<String, Object> records,
+                                                     Consumer<String, Object> consumer) {
+        batchStartedAt.set(System.nanoTime());
+        return records;
+    }
+
+    @Override
+    public void success(ConsumerRecords<String, Object> records, Consumer<String, Object> consumer) {
+        observe(records);
+    }
+
+    @Override
+    public void failure(ConsumerRecords<String, Object> records, Exception exception,
+                        Consumer<String, Object> consumer) {
+        observe(records);
+    }
+
+    private void observe(ConsumerRecords<String, Object> records) {
+        Long startedAt = batchStartedAt.get();
+        batchStartedAt.remove();
+        if (startedAt == null || records.isEmpty()) {
+            return;
+        }
+        double perRecord = (double) (System.nanoTime() - startedAt) / records.count();
+        Set<String> topics = records.partitions().stream().map(TopicPartition::topic).collect(Collectors.toSet());
+        for (String topic : topics) {
+            nanosPerRecord.merge(topic, perRecord, (previous, current) -> previous + EMA_WEIGHT * (current - previous));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${person.event.kafka.batch.adaptive.adjust-interval:PT30S}")
+    public void adjust() {
+        KafkaBatchProperties.Adaptive adaptive = kafkaBatchProperties.adaptive();
+        double budgetNanos = TimeUnit.MILLISECONDS.toNanos(maxPollIntervalMs) * adaptive.targetUtilization();
+        for (MessageListenerContainer container : registry.getListenerContainers()) {
+            String[] topics = container.getContainerProperties().getTopics();
+            if (topics == null || !container.isRunning()) {
+                continue;
+            }
+            Double perRecord = Arrays.stream(topics)
+                    .map(nanosPerRecord::get)
+                    .filter(Objects::nonNull)
+                    .max(Double::compare)
+                    .orElse(null);
+            if (perRecord == null) {
+                continue;
+            }
+            int current = currentPollRecords.computeIfAbsent(container.getListenerId(),
+                    id -> kafkaBatchProperties.resolve(topics).maxPollRecords());
+            int target = (int) Math.max(adaptive.minPollRecords(),
+                    Math.min(adaptive.maxPollRecords(), budgetNanos / Math.max(perRecord, 1d)));
+            if (target < current * HYSTERESIS && target > current / HYSTERESIS) {
+                continue;
+            }
+            log.info("Resizing max.poll.records of listener {} from {} to {} ({} us/record)",
+                    container.getListenerId(), current, target, Math.round(perRecord / 1000));
+            resize(container, target);
+            currentPollRecords.put(container.getListenerId(), target);
+        }
+    }
+
+    private void resize(MessageListenerContainer container, int maxPollRecords) {
+        Properties overrides = new Properties();
+        overrides.putAll(container.getContainerProperties().getKafkaConsumerProperties());
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(maxPollRecords));
+        container.stop();
+        container.getContainerProperties().setKafkaConsumerProperties(overrides);
+        container.start();
+    }
+}
@@ -5,13 +5,22 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
+import com.example.person_service.configuration.KafkaBatchProperties;
+import com.example.person_service.constant.BatchProcessingMode;
 import com.example.person_service.constant.EventType;
 import com.example.person_service.dto.request.*;
+import com.example.person_service.dto.response.CreatePersonBatchResponse;
+import com.example.person_service.dto.response.PersonBatchItemResponse;
 import com.example.person_service.dto.response.PersonResponse;
 import com.example.person_service.entity.FailPersonEvent;
 import com.example.person_service.exception.AppException;
 import com.example.person_service.service.FailPersonEventService;
+import com.example.person_service.service.IdempotencyService;
+import com.example.person_service.service.KafkaProducerService;
 import com.example.person_service.service.PersonService;
 import com.example.person_service.utils.PersonEventMapper;
 import lombok.RequiredArgsConstructor;
@@ -37,9 +46,26 @@ public class BatchManualAckConsumer {
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final PersonEventMapper personEventMapper;
     private final FailPersonEventService failPersonEventService;
+    private final KafkaBatchProperties kafkaBatchProperties;
+    private final KeyOrderedExecutor keyOrderedExecutor;
+    private final ParallelBatchDispatcher parallelBatchDispatcher;
+    private final IdempotencyService idempotencyService;
+    private final KafkaProducerService kafkaProducerService;
     private final ConsumerFactory<String, Object> consumerFactory;
     @Qualifier("manualConsumerFactory")
     private final ConsumerFactory<String, Object> manualConsumerFactory;
+    private final EventHandlerRegistry successDependentHandlers = EventHandlerRegistry.builder()
+            .on(EventType.CREATE_PERSON, CreatePersonEvent.class, this::createPerson)
+            .on(EventType.READ_PERSON, ReadPersonEvent.class, this::readPerson)
+            .on(EventType.UPDATE_PERSON, UpdatePersonEvent.class, this::updatePerson)
+            .on(EventType.DELETE_PERSON, DeletePersonEvent.class, this::deletePerson)
+            .build();
+    private final EventHandlerRegistry failDependentHandlers = EventHandlerRegistry.builder()
+            .on(EventType.CREATE_PERSON, CreatePersonEvent.class, this::createPersonWithSimulatedTimeout)
+            .on(EventType.READ_PERSON, ReadPersonEvent.class, this::readPersonAfterFailedCreate)
+            .on(EventType.UPDATE_PERSON, UpdatePersonEvent.class, this::updatePerson)
+            .on(EventType.DELETE_PERSON, DeletePersonEvent.class, this::deletePerson)
+            .build();
 
     @KafkaListener(topics = "fail-person-events", containerFactory = "batchKafkaListenerContainerFactory")
     public void handleFailBatchPersons(List<ConsumerRecord<String, CreatePersonRequest>> records, Acknowledgment ack) {
@@ -57,7 +83,7 @@ public class BatchManualAckConsumer {
             try {
                 log.info("Processing person {} at offset {}", person.getFirstName(), person.getTaxNumber());
                 simulateErrors(record);
-                personService.createPerson(person);
+                idempotencyService.executeOnce(IdempotencyService.keyOf(record), () -> personService.createPerson(person));
                 log.info("Acknowledged person [{}]: {} {}", record.key(), person.getFirstName(), person.getTaxNumber());
             } catch (AppException e) {
                 log.error("Error processing person {} at offset {}", person.getFirstName(), person.getTaxNumber());
@@ -71,15 +97,30 @@ public class BatchManualAckConsumer {
     }
 
     @KafkaListener(topics = "success-person-events", containerFactory = "batchKafkaListenerContainerFactory")
-    public void handSuccessBatchPersons(List<ConsumerRecord<String, CreatePersonRequest>> records, Acknowledgment ack) {
+    public void handSuccessBatchPersons(List<ConsumerRecord<String, CreatePersonRequest>> records, Acknowledgment ack,
+                                        Consumer<?, ?> consumer) {
         log.info("Processing batch of {} persons", records.size());
+        if (kafkaBatchProperties.mode() == BatchProcessingMode.BULK) {
+            persistBatch(records, Function.identity());
+            ack.acknowledge();
+            return;
+        }
+        if (kafkaBatchProperties.mode() == BatchProcessingMode.PARALLEL) {
+            int completed = parallelBatchDispatcher.dispatch(records, consumer, ack,
+                    // a null value is a deserialization failure; keyed by the record so it fails in its handler
+                    record -> record.key() != null ? record.key()
+                            : record.value() != null ? record.value().getTaxNumber() : record,
+                    record -> createOrReject(record, record.value()));
+            log.info("Batch of {} persons processed, {} completed", records.size(), completed);
+            return;
+        }
         boolean success = true;
 
         for (ConsumerRecord<String, CreatePersonRequest> record : records) {
             CreatePersonRequest person = record.value();
             try {
                 log.info("Processing person {} at offset {}", person.getFirstName(), person.getTaxNumber());
-                personService.createPerson(person);
+                idempotencyService.executeOnce(IdempotencyService.keyOf(record), () -> personService.createPerson(person));
                 log.info("Successfully processed and acknowledged person [{}]: {} {}", record.key(), person.getFirstName(), person.getTaxNumber());
             } catch (AppException e) {
                 success = false;
@@ -145,30 +186,23 @@ public class BatchManualAckConsumer {
         log.error("record: {}", record.value());
     }
 
+    /**
+     * Events of one correlation chain share a partition key, so they arrive in order on the same partition. Chains
+     * are independent of each other and run in parallel; events inside a chain stay sequential.
+     */
     @KafkaListener(topics = "success-dependent-events", containerFactory = "batchKafkaListenerContainerFactory")
     public void handSuccessBatchDependentEvents(List<ConsumerRecord<String, BaseEvent>> records, Acknowledgment ack) {
-        log.info("Processing batch of {} events: {}", records.size());
+        log.info("Processing batch of {} events", records.size());
+        KeyOrderedExecutor.Outcome<ConsumerRecord<String, BaseEvent>> outcome = keyOrderedExecutor.execute(records,
+                BatchManualAckConsumer::chainKey, item -> idempotencyService.executeOnce(IdempotencyService.keyOf(item),
+                        () -> successDependentHandlers.dispatch(item.value())));
         boolean success = true;
-        for (ConsumerRecord<String, BaseEvent> item : records) {
-            var event = item.value();
-            try {
-                if (event.getEventType().equals(EventType.CREATE_PERSON)) {
-                    CreatePersonRequest request = personEventMapper.toRequest((CreatePersonEvent) event);
-                    personService.createPerson(request);
-                    log.info("Success create person event");
-                } else if (event.getEventType().equals(EventType.READ_PERSON)) {
-                    PersonResponse personResponse = personService.findPersonByTaxNumber(((ReadPersonEvent) event).getTaxNumber());
-                    log.info("Success read person event: {}", personResponse);
-                } else if (event.getEventType().equals(EventType.UPDATE_PERSON)) {
-                    UpdatePersonRequest request = personEventMapper.toUpdateRequest((UpdatePersonEvent) event);
-                    PersonResponse personResponse = personService.updatePerson(((UpdatePersonEvent) event).getTaxNumber(), request);
-                    log.info("Success update person event: {}", personResponse);
-                }
-            } catch (AppException e) {
+        for (var failure : outcome.failed().entrySet()) {
+            if (failure.getValue() instanceof AppException e) {
                 success = false;
-                log.error("AppException processing event {}: {}", item.value(), e.getErrorCode().getErrorMessage());
-            } catch (Exception e) {
-                log.error("Exception processing event {}: {}", item.value(), e.getMessage());
+                log.error("AppException processing event {}: {}", failure.getKey().value(), e.getErrorCode().getErrorMessage());
+            } else {
+                log.error("Exception processing event {}: {}", failure.getKey().value(), failure.getValue().getMessage());
             }
         }
         if (success) {
@@ -179,54 +213,102 @@ public class BatchManualAckConsumer {
         }
     }
 
+    private void createPerson(CreatePersonEvent event) {
+        personService.createPerson(personEventMapper.toRequest(event));
+        log.info("Success create person event");
+    }
+
+    private void readPerson(ReadPersonEvent event) {
+        PersonResponse personResponse = personService.findPersonByTaxNumber(event.getTaxNumber());
+        log.info("Success read person event: {}", personResponse);
+    }
+
+    private void updatePerson(UpdatePersonEvent event) {
+        PersonResponse personResponse = personService.updatePerson(event.getTaxNumber(),
+                personEventMapper.toUpdateRequest(event));
+        log.info("Success update person event: {}", personResponse);
+    }
+
+    private void deletePerson(DeletePersonEvent event) {
+        personService.deletePerson(event.getTaxNumber());
+        log.info("Success delete person event: {}", event.getTaxNumber());
+    }
+
     @KafkaListener(topics = "fail-dependent-events", containerFactory = "batchKafkaListenerContainerFactory")
     public void handFailBatchDependentEvents(List<ConsumerRecord<String, BaseEvent>> records, Acknowledgment ack) {
-        for (ConsumerRecord<String, BaseEvent> item : records) {
-            var event = item.value();
-            try {
-                if (event.getEventType().equals(EventType.CREATE_PERSON)) {
-                    CreatePersonRequest request = personEventMapper.toRequest((CreatePersonEvent) event);
-                    personService.simulateTimeoutError(request.getTaxNumber(), request);
-                    log.info("Success person event: create {}", request.getTaxNumber());
-                } else if (event.getEventType().equals(EventType.READ_PERSON)) {
-                    ReadPersonEvent readPersonEvent = (ReadPersonEvent) event;
-                    Optional<FailPersonEvent> previousEvent = failPersonEventService.findByCorrelationIdAndOrderNumber(event.getCorrelationId(), event.getOrderNumber() - 1);
-                    if (previousEvent.isPresent() && previousEvent.get().getEventType().equals(String.valueOf(EventType.CREATE_PERSON))) {
-                        FailPersonEvent failedEvent = previousEvent.get();
-                        CreatePersonEvent createEvent = personEventMapper.extractFailPersonEvent(failedEvent);
-                        CreatePersonRequest request = personEventMapper.toRequest(createEvent);
-                        personService.createPerson(request);
-                    }
-                    PersonResponse personResponse = personService.findPersonByTaxNumber(readPersonEvent.getTaxNumber());
-                    log.info("Success person event: read {}", personResponse);
-                } else if (event.getEventType().equals(EventType.UPDATE_PERSON)) {
-                    UpdatePersonRequest request = personEventMapper.toUpdateRequest((UpdatePersonEvent) event);
-                    PersonResponse personResponse = personService.updatePerson(((UpdatePersonEvent) event).getTaxNumber(), request);
-                    log.info("Success person event: update {}", personResponse);
-                }
-            } catch (AppException e) {
-                log.error("AppException processing event {}: {}", event, e.getErrorCode().getErrorMessage());
-                throw e;
-            } catch (RuntimeException e) {
-                log.error("RuntimeException processing event {}: {}", e.getMessage(), event);
-                throw e;
-            } catch (Exception e) {
-                log.error("Exception processing event {}: {}", item.value(), e.getMessage());
-                throw e;
+        KeyOrderedExecutor.Outcome<ConsumerRecord<String, BaseEvent>> outcome = keyOrderedExecutor.execute(records,
+                BatchManualAckConsumer::chainKey, item -> idempotencyService.executeOnce(IdempotencyService.keyOf(item),
+                        () -> failDependentHandlers.dispatch(item.value())));
+        if (outcome.hasFailures()) {
+            var failure = outcome.failed().entrySet().iterator().next();
+            if (failure.getValue() instanceof AppException e) {
+                log.error("AppException processing event {}: {}", failure.getKey().value(), e.getErrorCode().getErrorMessage());
+            } else {
+                log.error("RuntimeException processing event {}: {}", failure.getValue().getMessage(), failure.getKey().value());
             }
+            throw failure.getValue();
         }
         ack.acknowledge();
         log.info("Batch of {} events success", records.size());
     }
 
+    private void createPersonWithSimulatedTimeout(CreatePersonEvent event) {
+        CreatePersonRequest request = personEventMapper.toRequest(event);
+        personService.simulateTimeoutError(request.getTaxNumber(), request);
+        log.info("Success person event: create {}", request.getTaxNumber());
+    }
+
+    /**
+     * Replays the chain's preceding create from {@link FailPersonEvent} when it was parked there after exhausting its
+     * retries, so the read sees the person it depends on.
+     */
+    private void readPersonAfterFailedCreate(ReadPersonEvent event) {
+        Optional<FailPersonEvent> previousEvent = failPersonEventService.findByCorrelationIdAndOrderNumber(event.getCorrelationId(), event.getOrderNumber() - 1);
+        if (previousEvent.isPresent() && previousEvent.get().getEventType().equals(String.valueOf(EventType.CREATE_PERSON))) {
+            CreatePersonEvent createEvent = personEventMapper.extractFailPersonEvent(previousEvent.get());
+            personService.createPerson(personEventMapper.toRequest(createEvent));
+        }
+        PersonResponse personResponse = personService.findPersonByTaxNumber(event.getTaxNumber());
+        log.info("Success person event: read {}", personResponse);
+    }
+
+    private static Object chainKey(ConsumerRecord<String, BaseEvent> record) {
+        if (record.key() != null) {
+            return record.key();
+        }
+        return record.value() != null && record.value().getCorrelationId() != null
+                ? record.value().getCorrelationId() : record;
+    }
+
     @KafkaListener(topics = "success-independent-events", containerFactory = "batchKafkaListenerContainerFactory")
-    public void handSuccessBatchIndependentEvents(List<ConsumerRecord<String, BaseEvent>> records, Acknowledgment ack) {
+    public void handSuccessBatchIndependentEvents(List<ConsumerRecord<String, BaseEvent>> records, Acknowledgment ack,
+                                                  Consumer<?, ?> consumer) {
+        if (kafkaBatchProperties.mode() == BatchProcessingMode.BULK) {
+            persistBatch(records, event -> event instanceof CreatePersonEvent createPersonEvent
+                    ? personEventMapper.toRequest(createPersonEvent) : null);
+            ack.acknowledge();
+            return;
+        }
+        if (kafkaBatchProperties.mode() == BatchProcessingMode.PARALLEL) {
+            int completed = parallelBatchDispatcher.dispatch(records, consumer, ack,
+                    record -> record.key() != null ? record.key()
+                            : record.value() instanceof CreatePersonEvent event ? event.getTaxNumber() : record,
+                    record -> {
+                        if (record.value() instanceof CreatePersonEvent event) {
+                            createOrReject(record, personEventMapper.toRequest(event));
+                        } else {
+                            rejectUnexpected(record);
+                        }
+                    });
+            log.info("Batch of {} events processed, {} completed", records.size(), completed);
+            return;
+        }
         boolean success = true;
         for (ConsumerRecord<String, BaseEvent> item : records) {
             var event = item.value();
             try {
                 CreatePersonRequest request = personEventMapper.toRequest((CreatePersonEvent) event);
-                personService.createPerson(request);
+                idempotencyService.executeOnce(IdempotencyService.keyOf(item), () -> personService.createPerson(request));
                 log.info("Success create person event");
             } catch (AppException e) {
                 success = false;
@@ -249,7 +331,7 @@ public class BatchManualAckConsumer {
                 if (((CreatePersonEvent) event).getFirstName().equals("firstName_0")) {
                     personService.simulateTimeoutError(request.getTaxNumber(), request);
                 } else {
-                    personService.createPerson(request);
+                    idempotencyService.executeOnce(IdempotencyService.keyOf(record), () -> personService.createPerson(request));
                 }
                 log.info("Success create person event");
             } catch (AppException e) {
@@ -262,6 +344,93 @@ public class BatchManualAckConsumer {
         }
     }
 
+    /**
+     * Business rejections are final, so the record goes to the topic's DLT and counts as done; any other exception
+     * propagates and leaves the record to be redelivered.
+     */
+    private void createOrReject(ConsumerRecord<String, ?> record, CreatePersonRequest request) {
+        try {
+            idempotencyService.executeOnce(IdempotencyService.keyOf(record), () -> personService.createPerson(request));
+        } catch (AppException e) {
+            log.error("Rejected record [{}] at offset {}: {}", record.key(), record.offset(), e.getErrorCode().getErrorMessage());
+            kafkaProducerService.awaitAck(sendToDlt(record));
+        }
+    }
+
+    /**
+     * A record on a create-only topic that is not a {@link CreatePersonEvent}, e.g. another event type or a payload
+     * that fell back to {@link BaseEvent}, can never succeed, so it is recorded and forwarded to the DLT like a
+     * business rejection instead of failing the whole poll.
+     */
+    private void rejectUnexpected(ConsumerRecord<String, BaseEvent> record) {
+        BaseEvent event = record.value();
+        log.error("Rejected record [{}] at offset {}: expected a CreatePersonEvent but got {}", record.key(),
+                record.offset(), event == null ? null : event.getClass().getSimpleName());
+        // a plain BaseEvent carries none of the fields the typed extractors read
+        FailPersonEvent failPersonEvent = event == null || event.getClass() == BaseEvent.class
+                ? null : personEventMapper.toFailPersonEvent(event);
+        if (failPersonEvent != null) {
+            failPersonEventService.save(failPersonEvent);
+        }
+        kafkaProducerService.awaitAck(sendToDlt(record));
+    }
+
+    private CompletableFuture<?> sendToDlt(ConsumerRecord<String, ?> record) {
+        return kafkaTemplate.send(record.topic() + "-dlt", record.partition(), record.key(), record.value());
+    }
+
+    /**
+     * Persists a whole poll through {@link PersonService#createPersons} in one transaction. Records already processed
+     * by an earlier delivery are dropped first, and the keys of the rows created here are recorded in the same
+     * transaction. Rows that fail validation or duplicate checks are saved as {@link FailPersonEvent} and forwarded to
+     * the topic's DLT, so the rest of the poll can be acknowledged without replaying it. The DLT sends are awaited
+     * before returning; if one is not acknowledged the call fails, and the redelivery skips the rows already created.
+     */
+    <V> void persistBatch(List<ConsumerRecord<String, V>> records, Function<V, CreatePersonRequest> toRequest) {
+        Set<String> processed = idempotencyService.findProcessed(records.stream().map(IdempotencyService::keyOf).toList());
+        List<ConsumerRecord<String, V>> pending = processed.isEmpty() ? records : records.stream()
+                .filter(record -> !processed.contains(IdempotencyService.keyOf(record)))
+                .toList();
+        if (pending.size() < records.size()) {
+            log.info("Skipping {} already processed records", records.size() - pending.size());
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<CreatePersonRequest> requests = pending.stream()
+                .map(record -> record.value() == null ? null : toRequest.apply(record.value()))
+                .toList();
+        CreatePersonBatchResponse response = idempotencyService.executeBatch(
+                () -> personService.createPersons(requests),
+                result -> result.getResults().stream()
+                        .filter(PersonBatchItemResponse::isSuccess)
+                        .map(item -> IdempotencyService.keyOf(pending.get(item.getIndex())))
+                        .toList());
+
+        List<FailPersonEvent> failPersonEvents = new ArrayList<>();
+        List<CompletableFuture<?>> dltSends = new ArrayList<>();
+        for (PersonBatchItemResponse item : response.getResults()) {
+            if (item.isSuccess()) {
+                continue;
+            }
+            ConsumerRecord<String, V> record = pending.get(item.getIndex());
+            log.error("Failed to persist record [{}] at offset {}: {}", record.key(), record.offset(), item.getMessage());
+            if (record.value() instanceof CreatePersonEvent createPersonEvent) {
+                failPersonEvents.add(personEventMapper.extractCreatePersonEvent(createPersonEvent));
+            } else if (requests.get(item.getIndex()) != null) {
+                failPersonEvents.add(personEventMapper.extractCreatePersonRequest(requests.get(item.getIndex())));
+            }
+            dltSends.add(sendToDlt(record));
+        }
+        // the caller acknowledges the poll once this returns, so a lost DLT send must fail it instead
+        kafkaProducerService.awaitAck(CompletableFuture.allOf(dltSends.toArray(CompletableFuture[]::new)));
+        if (!failPersonEvents.isEmpty()) {
+            failPersonEventService.saveAll(failPersonEvents);
+        }
+        log.info("Batch of {} records persisted: {} succeeded, {} sent to DLT", pending.size(),
+                response.getSucceeded(), response.getFailed());
+    }
+
     public void manualConsumeMessages(Integer maxEvents) {
         int limit = maxEvents != null ? maxEvents : 10;
         try (Consumer<String, Object> consumer = consumerFactory.createConsumer()) {
@@ -4,11 +4,17 @@ import com.example.person_service.dto.request.CalculateTaxRequest;
 import com.example.person_service.dto.request.CreatePersonRequest;
 import com.example.person_service.dto.request.DeletePersonRequest;
 import com.example.person_service.dto.request.UpdatePersonRequest;
+import com.example.person_service.dto.response.PersonBatchItemResponse;
 import com.example.person_service.exception.AppException;
+import com.example.person_service.service.IdempotencyService;
+import com.example.person_service.service.KafkaProducerService;
 import com.example.person_service.service.PersonService;
 import jakarta.transaction.Transactional;
 import jakarta.validation.ConstraintViolationException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -17,6 +23,10 @@ import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaHandler;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
@@ -26,35 +36,77 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class EventConsumer {
     private final PersonService personService;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final IdempotencyService idempotencyService;
+    private final KafkaProducerService kafkaProducerService;
 
     @RetryableTopic(backoff = @Backoff(delay = 2000, multiplier = 1.5), attempts = "2", exclude = {AppException.class, DataIntegrityViolationException.class, ConstraintViolationException.class, IllegalArgumentException.class})
     @KafkaListener(topics = "create_person_topic", groupId = "create_person_group")
     @KafkaHandler
-    public void createPerson(@Payload CreatePersonRequest request) {
-        personService.createPerson(request);
-        personService.createPerson(request);
+    public void createPerson(@Payload CreatePersonRequest request,
+                             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                             @Header(KafkaHeaders.OFFSET) long offset) {
+        idempotencyService.executeOnce(IdempotencyService.keyOf(topic, partition, offset),
+                () -> personService.createPerson(request));
     }
 
     @KafkaListener(topics = "update_person_topic", groupId = "update_person_group")
     @KafkaHandler
     @RetryableTopic(backoff = @Backoff(delay = 2000, multiplier = 1), attempts = "2", exclude = {AppException.class, DataIntegrityViolationException.class, ConstraintViolationException.class, IllegalArgumentException.class})
-    public void updatePerson(UpdatePersonRequest request) {
-        personService.updatePerson(request.getTaxNumber(), request);
+    public void updatePerson(@Payload UpdatePersonRequest request,
+                             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                             @Header(KafkaHeaders.OFFSET) long offset) {
+        idempotencyService.executeOnce(IdempotencyService.keyOf(topic, partition, offset),
+                () -> personService.updatePerson(request.getTaxNumber(), request));
     }
 
     @KafkaListener(topics = "delete_person_topic", groupId = "delete_person_group")
     @KafkaHandler
     @Transactional
-    public void deletePerson(DeletePersonRequest request) {
-        personService.deletePerson(request.getTaxNumber());
+    public void deletePerson(@Payload DeletePersonRequest request,
+                             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                             @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                             @Header(KafkaHeaders.OFFSET) long offset) {
+        idempotencyService.executeOnce(IdempotencyService.keyOf(topic, partition, offset),
+                () -> personService.deletePerson(request.getTaxNumber()));
     }
 
-    @RetryableTopic(backoff = @Backoff(delay = 3000L, multiplier = 1), attempts = "2", exclude = {AppException.class, DataIntegrityViolationException.class, ConstraintViolationException.class, IllegalArgumentException.class})
-    @KafkaListener(topics = "tax_calculation_topic", groupId = "tax_calculation_group")
-    @KafkaHandler
-    @Transactional
-    public void handleTaxCalculation(CalculateTaxRequest request) {
-        personService.handleTaxCalculation(request);
+    /**
+     * Tax events are appended to the ledger a whole poll at a time. Appending is not idempotent, so records already
+     * processed by an earlier delivery are dropped first and the keys of the appended ones are recorded in the same
+     * transaction as the ledger rows. Events for unknown persons are forwarded to the DLT, and the poll is only
+     * acknowledged once the DLT has acknowledged them; infrastructure errors are retried by the batch container's
+     * error handler.
+     */
+    @KafkaListener(topics = "tax_calculation_topic", groupId = "tax_calculation_group",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void handleTaxCalculation(List<ConsumerRecord<String, CalculateTaxRequest>> records, Acknowledgment ack) {
+        Set<String> processed = idempotencyService.findProcessed(records.stream().map(IdempotencyService::keyOf).toList());
+        List<ConsumerRecord<String, CalculateTaxRequest>> pending = processed.isEmpty() ? records : records.stream()
+                .filter(record -> !processed.contains(IdempotencyService.keyOf(record)))
+                .toList();
+        if (pending.size() < records.size()) {
+            log.info("Skipping {} already processed tax events", records.size() - pending.size());
+        }
+        List<CalculateTaxRequest> requests = pending.stream().map(ConsumerRecord::value).toList();
+        List<PersonBatchItemResponse> results = pending.isEmpty() ? List.of() : idempotencyService.executeBatch(
+                () -> personService.handleTaxCalculations(requests),
+                items -> items.stream()
+                        .filter(PersonBatchItemResponse::isSuccess)
+                        .map(item -> IdempotencyService.keyOf(pending.get(item.getIndex())))
+                        .toList());
+        List<CompletableFuture<?>> dltSends = new ArrayList<>();
+        for (PersonBatchItemResponse result : results) {
+            if (!result.isSuccess()) {
+                ConsumerRecord<String, CalculateTaxRequest> record = pending.get(result.getIndex());
+                log.error("Tax calculation for {} rejected: {}", result.getTaxNumber(), result.getMessage());
+                dltSends.add(kafkaTemplate.send(record.topic() + "-dlt", record.partition(), record.key(), record.value()));
+            }
+        }
+        kafkaProducerService.awaitAck(CompletableFuture.allOf(dltSends.toArray(CompletableFuture[]::new)));
+        ack.acknowledge();
     }
 
     @RetryableTopic(backoff = @Backoff(
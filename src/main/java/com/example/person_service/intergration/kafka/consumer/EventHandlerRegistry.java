@@ -0,0 +1,65 @@
+package com.example.person_service.intergration.kafka.consumer;
+
+import com.example.person_service.constant.EventType;
+import com.example.person_service.dto.request.BaseEvent;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Dispatch table from {@link EventType} to a handler typed on the matching {@link BaseEvent} subclass. One
+ * {@link EnumMap} lookup and one checked cast replace the per-record {@code equals}/{@code instanceof} chains.
+ */
+public final class EventHandlerRegistry {
+    private final Map<EventType, Handler<?>> handlers;
+
+    private EventHandlerRegistry(Map<EventType, Handler<?>> handlers) {
+        this.handlers = handlers;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Runs the handler registered for the event's type. An unknown type or a payload of the wrong class is a
+     * contract violation on the topic and fails with {@link IllegalArgumentException}, which is not retried.
+     */
+    public void dispatch(BaseEvent event) {
+        Handler<?> handler = event.getEventType() == null ? null : handlers.get(event.getEventType());
+        if (handler == null) {
+            throw new IllegalArgumentException("No handler for event type " + event.getEventType());
+        }
+        handler.handle(event);
+    }
+
+    public boolean supports(EventType eventType) {
+        return handlers.containsKey(eventType);
+    }
+
+    private record Handler<E extends BaseEvent>(Class<E> eventClass, Consumer<? super E> action) {
+        void handle(BaseEvent event) {
+            if (!eventClass.isInstance(event)) {
+                throw new IllegalArgumentException("Event type " + event.getEventType() + " expects "
+                        + eventClass.getSimpleName() + " but got " + event.getClass().getSimpleName());
+            }
+            action.accept(eventClass.cast(event));
+        }
+    }
+
+    public static final class Builder {
+        private final Map<EventType, Handler<?>> handlers = new EnumMap<>(EventType.class);
+
+        private Builder() {
+        }
+
+        public <E extends BaseEvent> Builder on(EventType eventType, Class<E> eventClass, Consumer<? super E> action) {
+            handlers.put(eventType, new Handler<>(eventClass, action));
+            return this;
+        }
+
+        public EventHandlerRegistry build() {
+            return new EventHandlerRegistry(new EnumMap<>(handlers));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.person_service.intergration.kafka.consumer;
+
+import com.example.person_service.configuration.KafkaBatchProperties;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the items of one batch grouped by key: items sharing a key run sequentially in their original order, different
+ * keys run in parallel on a shared worker pool. A chain stops at its first failure so later items of the same key
+ * never run ahead of a failed predecessor.
+ */
+@Component
+@Slf4j
+public class KeyOrderedExecutor {
+    private final Executor executor;
+
+    public KeyOrderedExecutor(KafkaBatchProperties kafkaBatchProperties, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // one virtual thread per chain; worker-threads, when set, still caps how many run at once
+            SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("kafka-ordered-");
+            virtualExecutor.setVirtualThreads(true);
+            if (kafkaBatchProperties.workerThreads() > 0) {
+                virtualExecutor.setConcurrencyLimit(kafkaBatchProperties.workerThreads());
+            }
+            this.executor = virtualExecutor;
+        } else {
+            int threads = kafkaBatchProperties.workerThreads() > 0
+                    ? kafkaBatchProperties.workerThreads() : Runtime.getRuntime().availableProcessors();
+            this.executor = Executors.newFixedThreadPool(threads, namedThreads("kafka-ordered-"));
+        }
+    }
+
+    public <T> Outcome<T> execute(List<T> items, Function<T, ?> keyOf, Consumer<T> handler) {
+        Map<Object, List<T>> chains = new LinkedHashMap<>();
+        for (T item : items) {
+            chains.computeIfAbsent(keyOf.apply(item), key -> new ArrayList<>()).add(item);
+        }
+        Set<T> completed = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        Map<T, RuntimeException> failed = Collections.synchronizedMap(new IdentityHashMap<>());
+        if (chains.size() == 1) {
+            runChain(chains.values().iterator().next(), handler, completed, failed);
+        } else {
+            CompletableFuture<?>[] futures = chains.values().stream()
+                    .map(chain -> CompletableFuture.runAsync(() -> runChain(chain, handler, completed, failed), executor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).join();
+        }
+        return new Outcome<>(completed, failed);
+    }
+
+    private <T> void runChain(List<T> chain, Consumer<T> handler, Set<T> completed, Map<T, RuntimeException> failed) {
+        for (T item : chain) {
+            try {
+                handler.accept(item);
+                completed.add(item);
+            } catch (RuntimeException e) {
+                failed.put(item, e);
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor simpleAsyncTaskExecutor) {
+            simpleAsyncTaskExecutor.close();
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory delegate = Executors.defaultThreadFactory();
+        return runnable -> {
+            Thread thread = delegate.newThread(runnable);
+            thread.setName(prefix + counter.incrementAndGet());
+            return thread;
+        };
+    }
+
+    /**
+     * Items that completed and items that failed; items after a failure in the same chain appear in neither.
+     */
+    public record Outcome<T>(Set<T> completed, Map<T, RuntimeException> failed) {
+        public boolean hasFailures() {
+            return !failed.isEmpty();
+        }
+    }
+}
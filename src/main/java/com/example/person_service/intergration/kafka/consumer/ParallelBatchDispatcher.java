@@ -0,0 +1,78 @@
+package com.example.person_service.intergration.kafka.consumer;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spreads the records of one poll over {@link KeyOrderedExecutor} and commits each partition only up to its highest
+ * contiguous completed offset. When a record fails, the first unfinished record of the poll is reported to the
+ * container's error handler as a {@link BatchListenerFailedException}, which rewinds the partitions, backs off and
+ * eventually recovers the record to the DLT, instead of re-polling a poison record in a tight loop.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ParallelBatchDispatcher {
+    private final KeyOrderedExecutor keyOrderedExecutor;
+
+    /**
+     * Must be called on the listener thread, as it commits through the listener's {@link Consumer}.
+     *
+     * @return number of records that completed; a batch with failures throws instead
+     * @throws BatchListenerFailedException naming the first record of the poll that did not complete
+     */
+    public <V> int dispatch(List<ConsumerRecord<String, V>> records, Consumer<?, ?> consumer, Acknowledgment ack,
+                            Function<ConsumerRecord<String, V>, Object> keyOf,
+                            java.util.function.Consumer<ConsumerRecord<String, V>> handler) {
+        KeyOrderedExecutor.Outcome<ConsumerRecord<String, V>> outcome = keyOrderedExecutor.execute(records, keyOf, handler);
+        if (outcome.completed().size() == records.size()) {
+            ack.acknowledge();
+            return records.size();
+        }
+
+        Map<TopicPartition, List<ConsumerRecord<String, V>>> byPartition = records.stream()
+                .collect(Collectors.groupingBy(record -> new TopicPartition(record.topic(), record.partition())));
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        for (Map.Entry<TopicPartition, List<ConsumerRecord<String, V>>> entry : byPartition.entrySet()) {
+            List<ConsumerRecord<String, V>> partitionRecords = entry.getValue().stream()
+                    .sorted(Comparator.comparingLong(ConsumerRecord::offset))
+                    .toList();
+            ConsumerRecord<String, V> firstGap = partitionRecords.stream()
+                    .filter(record -> !outcome.completed().contains(record))
+                    .findFirst()
+                    .orElse(null);
+            if (firstGap == null) {
+                commits.put(entry.getKey(), new OffsetAndMetadata(partitionRecords.get(partitionRecords.size() - 1).offset() + 1));
+                continue;
+            }
+            if (firstGap.offset() > partitionRecords.get(0).offset()) {
+                commits.put(entry.getKey(), new OffsetAndMetadata(firstGap.offset()));
+            }
+        }
+        if (!commits.isEmpty()) {
+            consumer.commitSync(commits);
+        }
+        outcome.failed().forEach((record, e) ->
+                log.error("Failed record [{}] at {}-{}@{}: {}", record.key(), record.topic(), record.partition(),
+                        record.offset(), e.getMessage()));
+        // records of a key after its failure are in neither set, so the first unfinished record is always a failed one
+        ConsumerRecord<String, V> firstFailed = records.stream()
+                .filter(record -> !outcome.completed().contains(record))
+                .findFirst()
+                .orElseThrow();
+        throw new BatchListenerFailedException("Parallel batch failed", outcome.failed().get(firstFailed), firstFailed);
+    }
+}
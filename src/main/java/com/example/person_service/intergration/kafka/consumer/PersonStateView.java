@@ -0,0 +1,91 @@
+package com.example.person_service.intergration.kafka.consumer;
+
+import com.example.person_service.configuration.CacheConfiguration;
+import com.example.person_service.configuration.KafkaConfiguration;
+import com.example.person_service.dto.request.PersonState;
+import com.example.person_service.utils.TaxNumber;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory copy of the compacted {@code person-state} topic. Every instance consumes all partitions in its own
+ * consumer group and replays them from the beginning on assignment, so no offsets are ever committed. Lookups answer
+ * only once the replay has reached the end offsets seen at assignment; until then, and for tax numbers never
+ * published, callers fall back to the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "person.state.view-enabled", havingValue = "true")
+public class PersonStateView implements ConsumerSeekAware {
+    private final ConsumerFactory<String, Object> consumerFactory;
+    private final CacheManager cacheManager;
+    private final Map<String, PersonState> states = new ConcurrentHashMap<>();
+    // partitions still being replayed, with the end offset they have to reach
+    private final Map<TopicPartition, Long> replayEndOffsets = new ConcurrentHashMap<>();
+    private volatile boolean caughtUp;
+
+    public Optional<PersonState> find(String taxNumber) {
+        return caughtUp ? Optional.ofNullable(states.get(taxNumber)) : Optional.empty();
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToBeginning(assignments.keySet());
+        try (Consumer<String, Object> consumer = consumerFactory.createConsumer()) {
+            Map<TopicPartition, Long> beginningOffsets = consumer.beginningOffsets(assignments.keySet());
+            consumer.endOffsets(assignments.keySet()).forEach((partition, endOffset) -> {
+                if (endOffset > beginningOffsets.get(partition)) {
+                    replayEndOffsets.put(partition, endOffset);
+                }
+            });
+        }
+        log.info("Replaying {} person state partitions", replayEndOffsets.size());
+        markCaughtUpIfReplayed();
+    }
+
+    @KafkaListener(topics = KafkaConfiguration.PERSON_STATE_TOPIC,
+            groupId = "person-state-view-${random.uuid}",
+            properties = {"auto.offset.reset=earliest"})
+    public void apply(ConsumerRecord<String, Object> record, Consumer<?, ?> consumer) {
+        if (record.value() instanceof PersonState state) {
+            states.put(record.key(), state);
+        } else {
+            states.remove(record.key());
+        }
+        // entries cached from the database or from an older state would otherwise outlive this update
+        Cache cache = cacheManager.getCache(CacheConfiguration.PERSONS_BY_TAX_NUMBER);
+        if (cache != null) {
+            cache.evict(TaxNumber.cacheKey(record.key()));
+        }
+        if (!caughtUp) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            Long endOffset = replayEndOffsets.get(partition);
+            // position rather than offset + 1: compaction can remove the records right before the end offset
+            if (endOffset != null && consumer.position(partition) >= endOffset) {
+                replayEndOffsets.remove(partition);
+                markCaughtUpIfReplayed();
+            }
+        }
+    }
+
+    private void markCaughtUpIfReplayed() {
+        if (!caughtUp && replayEndOffsets.isEmpty()) {
+            caughtUp = true;
+            log.info("Person state view caught up with {} persons", states.size());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.person_service.intergration.kafka.serde;
+
+import com.example.person_service.utils.TaxNumber;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+import org.apache.kafka.common.errors.SerializationException;
+
+/**
+ * Cursor over a payload written by {@link PayloadWriter}. Running past the end means the record is truncated or was
+ * written with a different schema and is reported as a {@link SerializationException}.
+ */
+final class PayloadReader {
+    private final byte[] data;
+    private int position;
+
+    PayloadReader(byte[] data, int offset) {
+        this.data = data;
+        this.position = offset;
+    }
+
+    int readByte() {
+        require(1);
+        return data[position++] & 0xFF;
+    }
+
+    long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SerializationException("Malformed varint at offset " + position);
+    }
+
+    long readSignedVarLong() {
+        return unzigzag(readVarLong());
+    }
+
+    String readString() {
+        long length = readVarLong();
+        if (length == 0) {
+            return null;
+        }
+        int byteCount = Math.toIntExact(length - 1);
+        require(byteCount);
+        String value = new String(data, position, byteCount, StandardCharsets.UTF_8);
+        position += byteCount;
+        return value;
+    }
+
+    UUID readUuid() {
+        if (readByte() == 0) {
+            return null;
+        }
+        return new UUID(readFixedLong(), readFixedLong());
+    }
+
+    LocalDate readDate() {
+        long marker = readVarLong();
+        return marker == 0 ? null : LocalDate.ofEpochDay(unzigzag(marker - 1));
+    }
+
+    LocalDateTime readDateTime() {
+        long marker = readVarLong();
+        if (marker == 0) {
+            return null;
+        }
+        long epochSecond = unzigzag(marker - 1);
+        return LocalDateTime.ofEpochSecond(epochSecond, (int) readVarLong(), ZoneOffset.UTC);
+    }
+
+    BigDecimal readDecimal() {
+        long length = readVarLong();
+        if (length == 0) {
+            return null;
+        }
+        int byteCount = Math.toIntExact(length - 1);
+        require(byteCount);
+        BigInteger unscaled = new BigInteger(Arrays.copyOfRange(data, position, position + byteCount));
+        position += byteCount;
+        return new BigDecimal(unscaled, Math.toIntExact(readSignedVarLong()));
+    }
+
+    String readTaxNumber() {
+        long marker = readVarLong();
+        if (marker == 0) {
+            return null;
+        }
+        return marker == 1 ? readString() : TaxNumber.unpack(marker - 2);
+    }
+
+    boolean hasRemaining() {
+        return position < data.length;
+    }
+
+    private long readFixedLong() {
+        require(Long.BYTES);
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (data[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    private void require(int bytes) {
+        if (bytes < 0 || position + bytes > data.length) {
+            throw new SerializationException("Payload truncated at offset " + position);
+        }
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.person_service.intergration.kafka.serde;
+
+import com.example.person_service.constant.EventType;
+import com.example.person_service.constant.PersonChangeType;
+import com.example.person_service.dto.request.BaseEvent;
+import com.example.person_service.dto.request.CalculateTaxRequest;
+import com.example.person_service.dto.request.CreatePersonEvent;
+import com.example.person_service.dto.request.CreatePersonRequest;
+import com.example.person_service.dto.request.DeletePersonEvent;
+import com.example.person_service.dto.request.DeletePersonRequest;
+import com.example.person_service.dto.request.PersonChangeEvent;
+import com.example.person_service.dto.request.PersonState;
+import com.example.person_service.dto.request.ReadPersonEvent;
+import com.example.person_service.dto.request.UpdatePersonEvent;
+import com.example.person_service.dto.request.UpdatePersonRequest;
+import org.apache.kafka.common.errors.SerializationException;
+
+/**
+ * Binary layouts of the Kafka payload types. The schema id is written into every record and must never be reused;
+ * a layout change bumps {@link #version} and keeps a read branch for every older version still on the topics.
+ */
+enum PayloadSchema {
+    CREATE_PERSON_REQUEST(1, 1, CreatePersonRequest.class) {
+        @Override
+        void write(Object value, PayloadWriter out) {
+            CreatePersonRequest request = (CreatePersonRequest) value;
+            out.writeString(request.getFirstName());
+            out.writeString(request.getLastName());
+            out.writeDate(request.getDob());
+            out.writeTaxNumber(request.getTaxNumber());
+        }
+
+        @Override
+        Object read(PayloadReader in, int version) {
+            return CreatePersonRequest.builder()
+                    .firstName(in.readString())
+                    .lastName(in.readString())
+                    .dob(in.readDate())
+                    .taxNumber(in.readTaxNumber())
+                    .build();
+        }
+    },
+    UPDATE_PERSON_REQUEST(2, 1, UpdatePersonRequest.class) {
+        @Override
+        void write(Object value, PayloadWriter out) {
+            UpdatePersonRequest request = (UpdatePersonRequest) value;
+            out.writeString(request.getFirstName());
+            out.writeString(request.getLastName());
+            out.writeDate(request.getDob());
+            out.writeTaxNumber(request.getTaxNumber());
+        }
+
+        @Override
+        Object read(PayloadReader in, int version) {
+            return UpdatePersonRequest.builder()
+                    .firstName(in.readString())
+                    .lastName(in.readString())
+                    .dob(in.readDate())
+                    .taxNumber(in.readTaxNumber())
+                    .build();
+        }
+    },
+    DELETE_PERSON_REQUEST(3, 1, DeletePersonRequest.class) {
+        @Override
+        void write(Object value, PayloadWriter out) {
+            out.writeTaxNumber(((DeletePersonRequest) value).getTaxNumber());
+        }
+
+        @Override
+        Object read(PayloadReader in, int version) {
+            return DeletePersonRequest.builder().taxNumber(in.readTaxNumber()).build();
+        }
+    },
+    CALCULATE_TAX_REQUEST(4, 1, CalculateTaxRequest.class) {
+        @Override
+        void write(Object value, PayloadWriter out) {
+            CalculateTaxRequest request = (CalculateTaxRequest) value;
+            out.writeTaxNumber(request.getTaxNumber());
+            out.writeDecimal(request.getAmount());
+        }
+
+        @Override
+        Object read(PayloadReader in, int version) {
+            return CalculateTaxRequest.builder()
+                    .taxNumber(in.readTaxNumber())
+                    .amount(in.readDecimal())
+                    .build();
+        }
+    },
+    BASE_EVENT(5, 1, BaseEvent.class) {
+        @Override
+        void write(Object value, PayloadWriter out) {
+            writeEventHeader((BaseEvent) value, out);
+        }
+
+        @Override
+        Object read(PayloadReader in, int version) {
+            return readEventHeader(new BaseEvent(), in);
+        }
+    },
+    CREATE_PERSON_EVENT(6, 1, CreatePersonEvent.class) {
+        @Override
+        void write(Object value, PayloadWriter out) {
+            CreatePersonEvent event = (CreatePersonEvent) value;
+            writeEventHeader(event, out);
+            out.writeString(event.getFirstName());
+            out.writeString(event.getLastName());
+            out.writeDate(event.getDob());
+            out.writeTaxNumber(event.getTaxNumber());
+        }
+
+        @Override
+        Object read(PayloadReader in, int version) {
+            CreatePersonEvent event = readEventHeader(new CreatePersonEvent(), in);
+            event.setFirstName(in.readString());
+            event.setLastName(in.readString());
+            event.setDob(in.readDate());
+            event.setTaxNumber(in.readTaxNumber());
+            return event;
+        }
+    },
+    READ_PERSON_EVENT(7, 1, ReadPersonEvent.class) {
+        @Override
+        void write(Object value, PayloadWriter out) {
+            ReadPersonEvent event = (ReadPersonEvent) value;
+            writeEventHeader(event, out);
+            out.writeTaxNumber(event.getTaxNumber());
+        }
+
+        @Override
+        Object read(PayloadReader in, int version) {
+            ReadPersonEvent event = readEventHeader(new ReadPersonEvent(), in);
+            event.setTaxNumber(in.readTaxNumber());
+            return event;
+        }
+    },
+    UPDATE_PERSON_EVENT(8, 1, UpdatePersonEvent.class) {
+        @Override
+        void write(Object value, PayloadWriter out) {
+            UpdatePersonEvent event = (UpdatePersonEvent) value;
+            writeEventHeader(event, out);
+            out.writeString(event.getFirstName());
+            out.writeString(event.getLastName());
+            out.writeDate(event.getDob());
+            out.writeTaxNumber(event.getTaxNumber());
+        }
+
+        @Override
+        Object read(PayloadReader in, int version) {
+            UpdatePersonEvent event = readEventHeader(new UpdatePersonEvent(), in);
+            event.setFirstName(in.readString());
+            event.setLastName(in.readString());
+            event.setDob(in.readDate());
+            event.setTaxNumber(in.readTaxNumber());
+            return event;
+        }
+    },
+    DELETE_PERSON_EVENT(9, 1, DeletePersonEvent.class) {
+        @Override
+        void write(Object value, PayloadWriter out) {
+            DeletePersonEvent event = (DeletePersonEvent) value;
+            writeEventHeader(event, out);
+            out.writeTaxNumber(event.getTaxNumber());
+        }
+
+        @Override
+        Object read(PayloadReader in, int version) {
+            DeletePersonEvent event = readEventHeader(new DeletePersonEvent(), in);
+            event.setTaxNumber(in.readTaxNumber());
+            return event;
+        }
+    },
+    PERSON_CHANGE_EVENT(10, 1, PersonChangeEvent.class) {
+        @Override
+        void write(Object value, PayloadWriter out) {
+            PersonChangeEvent event = (PersonChangeEvent) value;
+            out.writeUuid(event.getId());
+            out.writeByte(event.getChangeType() == null ? 0 : event.getChangeType().ordinal() + 1);
+            out.writeTaxNumber(event.getTaxNumber());
+            out.writeUuid(event.getPersonId());
+            out.writeString(event.getFirstName());
+            out.writeString(event.getLastName());
+            out.writeDate(event.getDob());
+            out.writeDecimal(event.getAmount());
+            out.writeDateTime(event.getOccurredAt());
+        }
+
+        @Override
+        Object read(PayloadReader in, int version) {
+            PersonChangeEvent event = new PersonChangeEvent();
+            event.setId(in.readUuid());
+            int changeType = in.readByte();
+            if (changeType > CHANGE_TYPES.length) {
+                throw new SerializationException("Unknown change type " + (changeType - 1));
+            }
+            event.setChangeType(changeType == 0 ? null : CHANGE_TYPES[changeType - 1]);
+            event.setTaxNumber(in.readTaxNumber());
+            event.setPersonId(in.readUuid());
+            event.setFirstName(in.readString());
+            event.setLastName(in.readString());
+            event.setDob(in.readDate());
+            event.setAmount(in.readDecimal());
+            event.setOccurredAt(in.readDateTime());
+            return event;
+        }
+    },
+    PERSON_STATE(11, 1, PersonState.class) {
+        @Override
+        void write(Object value, PayloadWriter out) {
+            PersonState state = (PersonState) value;
+            out.writeUuid(state.getId());
+            out.writeTaxNumber(state.getTaxNumber());
+            out.writeString(state.getFirstName());
+            out.writeString(state.getLastName());
+            out.writeDate(state.getDob());
+            out.writeDecimal(state.getTaxDebt());
+            out.writeDateTime(state.getUpdatedAt());
+        }
+
+        @Override
+        Object read(PayloadReader in, int version) {
+            PersonState state = new PersonState();
+            state.setId(in.readUuid());
+            state.setTaxNumber(in.readTaxNumber());
+            state.setFirstName(in.readString());
+            state.setLastName(in.readString());
+            state.setDob(in.readDate());
+            state.setTaxDebt(in.readDecimal());
+            state.setUpdatedAt(in.readDateTime());
+            return state;
+        }
+    };
+
+    private static final EventType[] EVENT_TYPES = EventType.values();
+    private static final PersonChangeType[] CHANGE_TYPES = PersonChangeType.values();
+
+    final int id;
+    final int version;
+    final Class<?> type;
+
+    PayloadSchema(int id, int version, Class<?> type) {
+        this.id = id;
+        this.version = version;
+        this.type = type;
+    }
+
+    abstract void write(Object value, PayloadWriter out);
+
+    /**
+     * Reads a payload written with {@code version}, which the codec has already checked is not newer than ours.
+     */
+    abstract Object read(PayloadReader in, int version);
+
+    private static void writeEventHeader(BaseEvent event, PayloadWriter out) {
+        out.writeUuid(event.getId());
+        out.writeUuid(event.getCorrelationId());
+        out.writeByte(event.getEventType() == null ? 0 : event.getEventType().ordinal() + 1);
+        out.writeSignedVarLong(event.getOrderNumber());
+        out.writeDateTime(event.getTimestamp());
+    }
+
+    private static <T extends BaseEvent> T readEventHeader(T event, PayloadReader in) {
+        event.setId(in.readUuid());
+        event.setCorrelationId(in.readUuid());
+        int eventType = in.readByte();
+        if (eventType > EVENT_TYPES.length) {
+            throw new SerializationException("Unknown event type " + (eventType - 1));
+        }
+        event.setEventType(eventType == 0 ? null : EVENT_TYPES[eventType - 1]);
+        event.setOrderNumber(Math.toIntExact(in.readSignedVarLong()));
+        event.setTimestamp(in.readDateTime());
+        return event;
+    }
+}
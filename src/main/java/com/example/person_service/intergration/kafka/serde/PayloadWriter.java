@@ -0,0 +1,127 @@
+package com.example.person_service.intergration.kafka.serde;
+
+import com.example.person_service.utils.TaxNumber;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Append-only buffer for the binary payload format. Numbers are unsigned LEB128 varints (zigzag for signed values)
+ * and every nullable field reserves 0 as its null marker, so absent fields cost a single byte.
+ */
+final class PayloadWriter {
+    private byte[] buffer;
+    private int size;
+
+    PayloadWriter(int initialCapacity) {
+        buffer = new byte[initialCapacity];
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeString(String value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        writeBytes(bytes);
+    }
+
+    void writeUuid(UUID value) {
+        if (value == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        writeFixedLong(value.getMostSignificantBits());
+        writeFixedLong(value.getLeastSignificantBits());
+    }
+
+    void writeDate(LocalDate value) {
+        writeVarLong(value == null ? 0 : zigzag(value.toEpochDay()) + 1);
+    }
+
+    void writeDateTime(LocalDateTime value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        writeVarLong(zigzag(value.toEpochSecond(ZoneOffset.UTC)) + 1);
+        writeVarLong(value.getNano());
+    }
+
+    void writeDecimal(BigDecimal value) {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        writeVarLong(unscaled.length + 1L);
+        writeBytes(unscaled);
+        writeSignedVarLong(value.scale());
+    }
+
+    /**
+     * Canonical tax numbers travel as their packed digits (at most 5 bytes instead of 12). Anything else is kept
+     * verbatim behind marker 1 so validation downstream still sees what the producer sent.
+     */
+    void writeTaxNumber(String value) {
+        if (value == null) {
+            writeVarLong(0);
+        } else if (TaxNumber.isCanonical(value)) {
+            writeVarLong(TaxNumber.pack(value) + 2);
+        } else {
+            writeVarLong(1);
+            writeString(value);
+        }
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private void writeFixedLong(long value) {
+        ensureCapacity(Long.BYTES);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
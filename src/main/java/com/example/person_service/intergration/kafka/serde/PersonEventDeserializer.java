@@ -0,0 +1,41 @@
+package com.example.person_service.intergration.kafka.serde;
+
+import java.util.Map;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+/**
+ * Reads both payload formats so producers can switch to binary while JSON records are still on the topics. The
+ * format is told apart by the first byte; JSON records keep using the {@code __TypeId__} header and the
+ * {@code spring.json.*} settings passed to this deserializer.
+ */
+public class PersonEventDeserializer implements Deserializer<Object> {
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (PersonPayloadCodec.isBinary(data)) {
+            return PersonPayloadCodec.decode(data);
+        }
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (PersonPayloadCodec.isBinary(data)) {
+            return PersonPayloadCodec.decode(data);
+        }
+        return jsonDeserializer.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
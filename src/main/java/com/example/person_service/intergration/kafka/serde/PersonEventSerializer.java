@@ -0,0 +1,51 @@
+package com.example.person_service.intergration.kafka.serde;
+
+import com.example.person_service.constant.PayloadFormat;
+import java.util.Map;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Writes the person payloads with {@link PersonPayloadCodec} when {@link #PAYLOAD_FORMAT} is {@code BINARY}; every
+ * other value, and every value in {@code JSON} mode, goes through Spring's {@link JsonSerializer} as before.
+ */
+public class PersonEventSerializer implements Serializer<Object> {
+    public static final String PAYLOAD_FORMAT = "person.event.payload.format";
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+    private PayloadFormat payloadFormat = PayloadFormat.JSON;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object format = configs.get(PAYLOAD_FORMAT);
+        if (format != null) {
+            payloadFormat = PayloadFormat.valueOf(format.toString().toUpperCase());
+        }
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (useBinary(data)) {
+            return PersonPayloadCodec.encode(data);
+        }
+        return jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (useBinary(data)) {
+            return PersonPayloadCodec.encode(data);
+        }
+        return jsonSerializer.serialize(topic, headers, data);
+    }
+
+    private boolean useBinary(Object data) {
+        return payloadFormat == PayloadFormat.BINARY && data != null && PersonPayloadCodec.supports(data.getClass());
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
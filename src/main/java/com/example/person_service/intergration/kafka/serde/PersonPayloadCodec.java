@@ -0,0 +1,69 @@
+package com.example.person_service.intergration.kafka.serde;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.kafka.common.errors.SerializationException;
+
+/**
+ * Schema-versioned binary encoding of the person payloads. Every record starts with a three byte header:
+ * {@link #MAGIC}, the {@link PayloadSchema} id and the schema version it was written with.
+ */
+public final class PersonPayloadCodec {
+    // 0xB1 is a UTF-8 continuation byte, so no JSON document can start with it
+    public static final byte MAGIC = (byte) 0xB1;
+    private static final int HEADER_SIZE = 3;
+    private static final Map<Class<?>, PayloadSchema> SCHEMAS_BY_TYPE = new HashMap<>();
+    private static final PayloadSchema[] SCHEMAS_BY_ID = new PayloadSchema[256];
+
+    static {
+        for (PayloadSchema schema : PayloadSchema.values()) {
+            SCHEMAS_BY_TYPE.put(schema.type, schema);
+            SCHEMAS_BY_ID[schema.id] = schema;
+        }
+    }
+
+    private PersonPayloadCodec() {
+    }
+
+    public static boolean supports(Class<?> type) {
+        return SCHEMAS_BY_TYPE.containsKey(type);
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length >= HEADER_SIZE && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(Object value) {
+        PayloadSchema schema = SCHEMAS_BY_TYPE.get(value.getClass());
+        if (schema == null) {
+            throw new SerializationException("No binary schema for " + value.getClass().getName());
+        }
+        PayloadWriter out = new PayloadWriter(64);
+        out.writeByte(MAGIC);
+        out.writeByte(schema.id);
+        out.writeByte(schema.version);
+        schema.write(value, out);
+        return out.toByteArray();
+    }
+
+    public static Object decode(byte[] data) {
+        if (!isBinary(data)) {
+            throw new SerializationException("Not a binary person payload");
+        }
+        PayloadSchema schema = SCHEMAS_BY_ID[data[1] & 0xFF];
+        if (schema == null) {
+            throw new SerializationException("Unknown payload schema id " + (data[1] & 0xFF));
+        }
+        int version = data[2] & 0xFF;
+        if (version > schema.version) {
+            throw new SerializationException("Payload schema " + schema + " v" + version + " is newer than v"
+                    + schema.version + " supported by this consumer");
+        }
+        PayloadReader in = new PayloadReader(data, HEADER_SIZE);
+        Object value = schema.read(in, version);
+        if (in.hasRemaining()) {
+            throw new SerializationException("Trailing bytes after " + schema + " payload");
+        }
+        return value;
+    }
+}
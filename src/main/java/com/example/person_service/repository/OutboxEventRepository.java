@@ -0,0 +1,19 @@
+package com.example.person_service.repository;
+
+import com.example.person_service.entity.OutboxEvent;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+    /**
+     * Locks the oldest unpublished rows. SKIP LOCKED lets several relay instances drain the outbox concurrently
+     * without publishing the same row twice.
+     */
+    @Query(value = "SELECT * FROM outbox_event ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockOldestEvents(@Param("limit") int limit);
+}
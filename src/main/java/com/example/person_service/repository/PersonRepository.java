@@ -1,30 +1,113 @@
 package com.example.person_service.repository;
 
 import com.example.person_service.entity.Person;
+import com.example.person_service.utils.NamePrefixRange;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PersonRepository extends JpaRepository<Person, UUID>, JpaSpecificationExecutor<Person>, PagingAndSortingRepository<Person, UUID> {
+    String NAME_PREFIX_UNION =
+            "SELECT p.* FROM persons p WHERE lower(p.first_name) ~>=~ :lowerBound " +
+                    "AND lower(p.first_name) ~<~ :upperBound AND p.dob <= :maxDob " +
+                    "UNION " +
+                    "SELECT p.* FROM persons p WHERE lower(p.last_name) ~>=~ :lowerBound " +
+                    "AND lower(p.last_name) ~<~ :upperBound AND p.dob <= :maxDob";
+    String NAME_PREFIX_UNION_AFTER =
+            "SELECT p.* FROM persons p WHERE lower(p.first_name) ~>=~ :lowerBound " +
+                    "AND lower(p.first_name) ~<~ :upperBound AND p.dob <= :maxDob " +
+                    "AND (p.last_name, p.id) > (:lastName, :id) " +
+                    "UNION " +
+                    "SELECT p.* FROM persons p WHERE lower(p.last_name) ~>=~ :lowerBound " +
+                    "AND lower(p.last_name) ~<~ :upperBound AND p.dob <= :maxDob " +
+                    "AND (p.last_name, p.id) > (:lastName, :id)";
+    // a NULL last name never matches the last name branch, so only the first name branch can produce these rows
+    String NAME_PREFIX_WITHOUT_LAST_NAME =
+            "SELECT p.* FROM persons p WHERE lower(p.first_name) ~>=~ :lowerBound " +
+                    "AND lower(p.first_name) ~<~ :upperBound AND p.dob <= :maxDob AND p.last_name IS NULL";
+    String SUMMARY_ATTRIBUTES =
+            "SELECT p.id AS id, p.firstName AS firstName, p.lastName AS lastName, p.dob AS dob, " +
+                    "p.taxNumber AS taxNumber, p.taxDebt AS taxDebt FROM Person p ";
+    String SUMMARY_COLUMNS =
+            "SELECT u.id AS \"id\", u.first_name AS \"firstName\", u.last_name AS \"lastName\", u.dob AS \"dob\", " +
+                    "'VN' || lpad(CAST(u.tax_number_digits AS varchar), 9, '0') AS \"taxNumber\", " +
+                    "u.tax_debt AS \"taxDebt\" ";
+
+    // snapshot plus the not yet compacted ledger entries, in one statement so a compaction committing in between
+    // can neither be counted twice nor dropped
+    String CURRENT_TAX_DEBT = "COALESCE(p.taxDebt, 0) + COALESCE((SELECT SUM(e.amount) FROM TaxDebtLedgerEntry e " +
+            "WHERE e.taxNumber = p.taxNumber), 0)";
+
     Optional<Person> findByTaxNumber(String taxNumber);
+
+    /**
+     * Projection of a person whose {@code taxDebt} is the current total, snapshot and ledger tail read together.
+     */
+    @Query("SELECT p.id AS id, p.firstName AS firstName, p.lastName AS lastName, p.dob AS dob, " +
+            "p.taxNumber AS taxNumber, " + CURRENT_TAX_DEBT + " AS taxDebt FROM Person p WHERE p.taxNumber = :taxNumber")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<PersonSummary> findCurrentByTaxNumber(@Param("taxNumber") String taxNumber);
+
+    @Query("SELECT p.id AS id, p.firstName AS firstName, p.lastName AS lastName, p.dob AS dob, " +
+            "p.taxNumber AS taxNumber, " + CURRENT_TAX_DEBT + " AS taxDebt FROM Person p " +
+            "WHERE p.taxNumber IN :taxNumbers")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<PersonSummary> findCurrentByTaxNumberIn(@Param("taxNumbers") Collection<String> taxNumbers);
+
+    @Query("SELECT " + CURRENT_TAX_DEBT + " FROM Person p WHERE p.taxNumber = :taxNumber")
+    Optional<BigDecimal> findCurrentTaxDebt(@Param("taxNumber") String taxNumber);
+
+    @Query("SELECT p.taxNumber FROM Person p WHERE p.taxNumber IN :taxNumbers")
+    Set<String> findExistingTaxNumbers(@Param("taxNumbers") Collection<String> taxNumbers);
+
     Optional<Person> deleteByTaxNumber(String taxNumber);
+
+    /**
+     * Adds to the tax debt in a single statement so concurrent increments are serialized by the row lock instead of
+     * being lost in a read-modify-write. Returns the number of updated rows (0 when the person does not exist).
+     */
+    @Modifying
+    @Query("UPDATE Person p SET p.taxDebt = COALESCE(p.taxDebt, 0) + :amount WHERE p.taxNumber = :taxNumber")
+    int addTaxDebt(@Param("taxNumber") String taxNumber, @Param("amount") BigDecimal amount);
     Page<Person> findAll(Pageable pageable);
 
-    @Query("SELECT p FROM Person p WHERE " +
-            "(LOWER(p.firstName) LIKE LOWER(CONCAT(:prefix, '%')) OR " +
-            "LOWER(p.lastName) LIKE LOWER(CONCAT(:prefix, '%'))) AND " +
-            "p.dob <= :maxDob")
+    /**
+     * Column-only variant of {@link #findAll(Pageable)} for list endpoints; rows are read into {@link PersonSummary}
+     * without hydrating entities.
+     */
+    @Query(value = SUMMARY_ATTRIBUTES,
+            countQuery = "SELECT count(p) FROM Person p")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Page<PersonSummary> findAllSummaries(Pageable pageable);
+
+    /**
+     * Name prefix search written as a UNION of two range scans so each branch can use its own
+     * {@code lower(...) text_pattern_ops} index; an OR across both columns would force a sequential scan.
+     */
+    @Query(value = "SELECT u.* FROM (" + NAME_PREFIX_UNION + ") u ORDER BY u.last_name, u.id",
+            countQuery = "SELECT count(*) FROM (" + NAME_PREFIX_UNION + ") u",
+            nativeQuery = true)
     Page<Person> findByNamePrefixAndMinAge(
-            @Param("prefix") String prefix,
+            @Param("lowerBound") String lowerBound,
+            @Param("upperBound") String upperBound,
             @Param("maxDob") LocalDate maxDob,
             Pageable pageable
     );
@@ -34,8 +117,113 @@ public interface PersonRepository extends JpaRepository<Person, UUID>, JpaSpecif
             Pageable pageable
     ) {
         LocalDate maxDob = LocalDate.now().minusYears(minAge);
-        return findByNamePrefixAndMinAge(prefix, maxDob, pageable);
+        NamePrefixRange range = NamePrefixRange.of(prefix);
+        return findByNamePrefixAndMinAge(range.lowerBound(), range.upperBound(), maxDob, pageable);
     }
+
+    /**
+     * Projection variant of {@link #findByNamePrefixAndMinAge(String, String, LocalDate, Pageable)}. The tax number is
+     * rebuilt from its packed digits in SQL because native queries bypass the entity's attribute converter.
+     */
+    @Query(value = SUMMARY_COLUMNS + "FROM (" + NAME_PREFIX_UNION + ") u ORDER BY u.last_name, u.id",
+            countQuery = "SELECT count(*) FROM (" + NAME_PREFIX_UNION + ") u",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Page<PersonSummary> findSummariesByNamePrefixAndMinAge(
+            @Param("lowerBound") String lowerBound,
+            @Param("upperBound") String upperBound,
+            @Param("maxDob") LocalDate maxDob,
+            Pageable pageable
+    );
+    default Page<PersonSummary> findSummariesByNamePrefixAndMinAge(
+            String prefix,
+            int minAge,
+            Pageable pageable
+    ) {
+        LocalDate maxDob = LocalDate.now().minusYears(minAge);
+        NamePrefixRange range = NamePrefixRange.of(prefix);
+        return findSummariesByNamePrefixAndMinAge(range.lowerBound(), range.upperBound(), maxDob, pageable);
+    }
+
+    /**
+     * Keyset scroll over {@code (last_name, id)}, read into {@link PersonSummary} like the paged list endpoints. NULLS
+     * LAST is the Postgres default for ascending indexes; spelled out so every database agrees with the seeks below.
+     */
+    @Query(SUMMARY_ATTRIBUTES + "ORDER BY p.lastName NULLS LAST, p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Slice<PersonSummary> findSummarySlice(Pageable pageable);
+
+    /**
+     * Row-value comparison, so the predicate is a single range seek on {@code idx_persons_last_name_id}; the
+     * equivalent OR form is not recognized as an index range and degrades to a scan on deep pages.
+     */
+    @Query(SUMMARY_ATTRIBUTES + "WHERE (p.lastName, p.id) > (:lastName, :id) ORDER BY p.lastName, p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Slice<PersonSummary> findSummariesAfter(
+            @Param("lastName") String lastName,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
+
+    /**
+     * Persons without a last name sort after every named one and never satisfy the row-value comparison above, so the
+     * scroll reaches them through these two seeks on the same index.
+     */
+    @Query(SUMMARY_ATTRIBUTES + "WHERE p.lastName IS NULL ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Slice<PersonSummary> findSummariesWithoutLastName(Pageable pageable);
+
+    @Query(SUMMARY_ATTRIBUTES + "WHERE p.lastName IS NULL AND p.id > :id ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Slice<PersonSummary> findSummariesWithoutLastNameAfter(@Param("id") UUID id, Pageable pageable);
+
+    @Query(value = SUMMARY_COLUMNS + "FROM (" + NAME_PREFIX_UNION + ") u ORDER BY u.last_name NULLS LAST, u.id",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Slice<PersonSummary> findSummarySliceByNamePrefixAndMaxDob(
+            @Param("lowerBound") String lowerBound,
+            @Param("upperBound") String upperBound,
+            @Param("maxDob") LocalDate maxDob,
+            Pageable pageable
+    );
+
+    @Query(value = SUMMARY_COLUMNS + "FROM (" + NAME_PREFIX_UNION_AFTER + ") u ORDER BY u.last_name, u.id",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Slice<PersonSummary> findSummariesByNamePrefixAndMaxDobAfter(
+            @Param("lowerBound") String lowerBound,
+            @Param("upperBound") String upperBound,
+            @Param("maxDob") LocalDate maxDob,
+            @Param("lastName") String lastName,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
+
+    /**
+     * Filtered counterparts of {@link #findSummariesWithoutLastName} and {@link #findSummariesWithoutLastNameAfter}:
+     * the persons matched by first name alone, which the row-value seek above skips.
+     */
+    @Query(value = SUMMARY_COLUMNS + "FROM (" + NAME_PREFIX_WITHOUT_LAST_NAME + ") u ORDER BY u.id",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Slice<PersonSummary> findSummariesWithoutLastNameByNamePrefixAndMaxDob(
+            @Param("lowerBound") String lowerBound,
+            @Param("upperBound") String upperBound,
+            @Param("maxDob") LocalDate maxDob,
+            Pageable pageable
+    );
+
+    @Query(value = SUMMARY_COLUMNS + "FROM (" + NAME_PREFIX_WITHOUT_LAST_NAME + " AND p.id > :id) u ORDER BY u.id",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Slice<PersonSummary> findSummariesWithoutLastNameByNamePrefixAndMaxDobAfter(
+            @Param("lowerBound") String lowerBound,
+            @Param("upperBound") String upperBound,
+            @Param("maxDob") LocalDate maxDob,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
+
     Page<Person> findByFirstNameStartingWithIgnoreCaseOrLastNameStartingWithIgnoreCase(
             String firstNamePrefix,
             String lastNamePrefix,
@@ -0,0 +1,24 @@
+package com.example.person_service.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Read-only view of the {@code persons} columns that list endpoints return. Queries selecting into it never create
+ * managed {@link com.example.person_service.entity.Person} instances, so nothing is dirty checked or kept in the
+ * persistence context.
+ */
+public interface PersonSummary {
+    UUID getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    LocalDate getDob();
+
+    String getTaxNumber();
+
+    BigDecimal getTaxDebt();
+}
@@ -0,0 +1,30 @@
+package com.example.person_service.repository;
+
+import com.example.person_service.entity.ProcessedEvent;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String> {
+    /**
+     * Claims the key for the current transaction. Returns 0 when it is already committed; a concurrent claim blocks
+     * on the row lock until the other transaction ends, so only one delivery of a record can win.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO processed_event (event_key, processed_at) VALUES (:eventKey, :processedAt) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("eventKey") String eventKey, @Param("processedAt") LocalDateTime processedAt);
+
+    @Query("SELECT e.eventKey FROM ProcessedEvent e WHERE e.eventKey IN :eventKeys")
+    Set<String> findExistingKeys(@Param("eventKeys") Collection<String> eventKeys);
+
+    @Modifying
+    @Query("DELETE FROM ProcessedEvent e WHERE e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
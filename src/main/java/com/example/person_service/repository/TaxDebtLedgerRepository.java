@@ -0,0 +1,25 @@
+package com.example.person_service.repository;
+
+import com.example.person_service.entity.TaxDebtLedgerEntry;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaxDebtLedgerRepository extends JpaRepository<TaxDebtLedgerEntry, UUID> {
+    /**
+     * Locks the oldest un-compacted entries. SKIP LOCKED lets several instances compact concurrently without
+     * folding the same entry twice.
+     */
+    @Query(value = "SELECT * FROM tax_debt_ledger ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<TaxDebtLedgerEntry> lockOldestEntries(@Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM TaxDebtLedgerEntry e WHERE e.taxNumber = :taxNumber")
+    int deleteByTaxNumber(@Param("taxNumber") String taxNumber);
+}
@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,6 +20,10 @@ public class FailPersonEventService {
         failPersonEventRepository.save(failPersonEvent);
     }
 
+    public void saveAll(List<FailPersonEvent> failPersonEvents) {
+        failPersonEventRepository.saveAll(failPersonEvents);
+    }
+
     public Optional<FailPersonEvent> findByCorrelationIdAndOrderNumber(UUID correlationId, int orderNumber) {
         return failPersonEventRepository.findByCorrelationIdAndOrderNumber(correlationId, orderNumber);
     }
@@ -0,0 +1,141 @@
+package com.example.person_service.service;
+
+import com.example.person_service.configuration.IdempotencyProperties;
+import com.example.person_service.dto.request.BaseEvent;
+import com.example.person_service.entity.ProcessedEvent;
+import com.example.person_service.repository.ProcessedEventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Makes at-least-once redelivery cheap: a record's key is written to {@code processed_event} in the same transaction
+ * as its effects, so a replayed record is skipped before it reaches the repositories. Committed keys are also kept
+ * in a bounded in-memory LRU, which answers most replays without a database round trip.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+    private final ProcessedEventRepository processedEventRepository;
+    private final IdempotencyProperties idempotencyProperties;
+    private final Cache<String, Boolean> processedKeys;
+
+    public IdempotencyService(ProcessedEventRepository processedEventRepository,
+                              IdempotencyProperties idempotencyProperties) {
+        this.processedEventRepository = processedEventRepository;
+        this.idempotencyProperties = idempotencyProperties;
+        this.processedKeys = Caffeine.newBuilder()
+                .maximumSize(idempotencyProperties.cacheSize())
+                .expireAfterWrite(idempotencyProperties.retention())
+                .build();
+    }
+
+    /**
+     * Event payloads are keyed by {@link BaseEvent#getId()}, which survives republishing; anything else by its
+     * position on the topic.
+     */
+    public static String keyOf(ConsumerRecord<?, ?> record) {
+        if (record.value() instanceof BaseEvent event && event.getId() != null) {
+            return event.getId().toString();
+        }
+        return keyOf(record.topic(), record.partition(), record.offset());
+    }
+
+    public static String keyOf(String topic, int partition, long offset) {
+        return topic + "-" + partition + "@" + offset;
+    }
+
+    /**
+     * Runs {@code action} unless {@code key} was already processed. The key is claimed before the action in the same
+     * transaction, so a failing action leaves it unclaimed for the next delivery. Returns whether the action ran.
+     */
+    @Transactional
+    public boolean executeOnce(String key, Runnable action) {
+        if (processedKeys.getIfPresent(key) != null) {
+            log.debug("Skipping already processed record {}", key);
+            return false;
+        }
+        if (processedEventRepository.insertIfAbsent(key, LocalDateTime.now()) == 0) {
+            log.debug("Skipping already processed record {}", key);
+            processedKeys.put(key, Boolean.TRUE);
+            return false;
+        }
+        action.run();
+        rememberAfterCommit(List.of(key));
+        return true;
+    }
+
+    /**
+     * Keys from {@code keys} that are already processed, resolved from memory first and with a single query for the
+     * rest.
+     */
+    @Transactional(readOnly = true)
+    public Set<String> findProcessed(Collection<String> keys) {
+        Set<String> processed = new HashSet<>();
+        List<String> unknown = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            if (processedKeys.getIfPresent(key) != null) {
+                processed.add(key);
+            } else {
+                unknown.add(key);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            Set<String> stored = processedEventRepository.findExistingKeys(unknown);
+            stored.forEach(key -> processedKeys.put(key, Boolean.TRUE));
+            processed.addAll(stored);
+        }
+        return processed;
+    }
+
+    /**
+     * Batch counterpart of {@link #executeOnce}: runs {@code action} and records the keys it reports as done in the
+     * same transaction. Callers filter the batch through {@link #findProcessed} first.
+     */
+    @Transactional
+    public <T> T executeBatch(Supplier<T> action, Function<T, Collection<String>> processedKeysOf) {
+        T result = action.get();
+        Collection<String> keys = processedKeysOf.apply(result);
+        if (!keys.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            processedEventRepository.saveAll(keys.stream()
+                    .map(key -> ProcessedEvent.builder().eventKey(key).processedAt(now).build())
+                    .toList());
+            rememberAfterCommit(keys);
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${person.event.idempotency.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = processedEventRepository.deleteProcessedBefore(
+                LocalDateTime.now().minus(idempotencyProperties.retention()));
+        if (deleted > 0) {
+            log.info("Purged {} processed event keys", deleted);
+        }
+    }
+
+    private void rememberAfterCommit(Collection<String> keys) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                keys.forEach(key -> processedKeys.put(key, Boolean.TRUE));
+            }
+        });
+    }
+}
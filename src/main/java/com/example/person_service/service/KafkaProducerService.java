@@ -1,77 +1,215 @@
 package com.example.person_service.service;
 
+import com.example.person_service.configuration.KafkaConfiguration;
+import com.example.person_service.configuration.KafkaProducerProperties;
+import com.example.person_service.constant.ProducerProfile;
 import com.example.person_service.dto.request.BaseEvent;
 import com.example.person_service.dto.request.CalculateTaxRequest;
 import com.example.person_service.dto.request.CreatePersonRequest;
 import com.example.person_service.dto.request.UpdatePersonRequest;
 import com.example.person_service.dto.request.DeletePersonRequest;
+import com.example.person_service.dto.request.PersonChangeEvent;
+import com.example.person_service.dto.request.PersonState;
+import com.example.person_service.exception.AppException;
+import com.example.person_service.exception.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.AccessLevel;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+/**
+ * Every send returns the broker acknowledgement future. Sends are optionally bounded by
+ * {@code person.event.kafka.producer.max-in-flight} and record a {@code person.kafka.producer.send} timer tagged with
+ * topic and outcome, so broker slowdowns show up as latency and errors instead of silent loss. Each topic is sent
+ * through the {@link KafkaTemplate} of the producer profile mapped in {@code person.event.kafka.producer.topic-profiles}.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class KafkaProducerService {
-    KafkaTemplate<String, Object> kafkaTemplate;
+    private static final String SEND_TIMER = "person.kafka.producer.send";
 
-    public void sendCreatePerson(String topic, CreatePersonRequest request) {
-        kafkaTemplate.send(topic, request);
+    Map<ProducerProfile, KafkaTemplate<String, Object>> kafkaTemplates = new EnumMap<>(ProducerProfile.class);
+    KafkaProducerProperties kafkaProducerProperties;
+    MeterRegistry meterRegistry;
+    Semaphore inFlightPermits;
+    AtomicInteger inFlight = new AtomicInteger();
+
+    public KafkaProducerService(@Qualifier("lowLatencyKafkaTemplate") KafkaTemplate<String, Object> lowLatencyKafkaTemplate,
+                                @Qualifier("highThroughputKafkaTemplate") KafkaTemplate<String, Object> highThroughputKafkaTemplate,
+                                KafkaProducerProperties kafkaProducerProperties,
+                                MeterRegistry meterRegistry) {
+        this.kafkaTemplates.put(ProducerProfile.LOW_LATENCY, lowLatencyKafkaTemplate);
+        this.kafkaTemplates.put(ProducerProfile.HIGH_THROUGHPUT, highThroughputKafkaTemplate);
+        this.kafkaProducerProperties = kafkaProducerProperties;
+        this.meterRegistry = meterRegistry;
+        this.inFlightPermits = kafkaProducerProperties.maxInFlight() > 0
+                ? new Semaphore(kafkaProducerProperties.maxInFlight()) : null;
+        meterRegistry.gauge("person.kafka.producer.in-flight", inFlight);
+    }
+
+    public CompletableFuture<SendResult<String, Object>> sendCreatePerson(String topic, CreatePersonRequest request) {
+        return send(topic, null, request);
     }
 
-    public void sendUpdatePerson(String topic, UpdatePersonRequest request) {
-        kafkaTemplate.send(topic, request);
+    public CompletableFuture<SendResult<String, Object>> sendUpdatePerson(String topic, UpdatePersonRequest request) {
+        return send(topic, null, request);
     }
 
-    public void sendDeletePerson(String topic, DeletePersonRequest request) {
-        kafkaTemplate.send(topic, request);
+    public CompletableFuture<SendResult<String, Object>> sendDeletePerson(String topic, DeletePersonRequest request) {
+        return send(topic, null, request);
     }
 
-    public void sendCalculateTax(String topic, CalculateTaxRequest request) {
-        kafkaTemplate.send(topic, request);
+    public CompletableFuture<SendResult<String, Object>> sendCalculateTax(String topic, CalculateTaxRequest request) {
+        return send(topic, null, request);
     }
 
-    public void sendMultipleMessages(List<CreatePersonRequest> requests) {
+    public CompletableFuture<Void> sendMultipleMessages(List<CreatePersonRequest> requests) {
         log.info("Sending {} messages concurrently", requests.size());
-        for (CreatePersonRequest request : requests) {
-            kafkaTemplate.send("send_messages_topic", request);
-        }
+        CompletableFuture<?>[] futures = requests.stream()
+                .map(request -> send("send_messages_topic", null, request))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures);
+    }
+
+    public CompletableFuture<SendResult<String, Object>> sendSuccessPersonEventBatch(CreatePersonRequest request, String key) {
+        return send("success-person-events", key, request);
+    }
+
+    public CompletableFuture<SendResult<String, Object>> sendFailPersonEventBatch(CreatePersonRequest request, String key) {
+        return send("fail-person-events", key, request);
+    }
+
+    public CompletableFuture<SendResult<String, Object>> sendFailPersonEventBatchWithNonBlockingRetry(CreatePersonRequest request, String key) {
+        return send("fail-non-blocking", key, request);
+    }
+
+    /**
+     * Dependent events are keyed by their correlation chain so every event of a chain lands on the same partition and
+     * is consumed in order.
+     */
+    public CompletableFuture<SendResult<String, Object>> sendDependentEvents(BaseEvent baseEvent) {
+        return send("success-dependent-events", orderingKey(baseEvent), baseEvent);
+    }
+
+    public CompletableFuture<SendResult<String, Object>> sendFailDependentEvents(BaseEvent baseEvent) {
+        return send("fail-dependent-events", orderingKey(baseEvent), baseEvent);
     }
 
-    public void sendSuccessPersonEventBatch(CreatePersonRequest request, String key) {
-        kafkaTemplate.send("success-person-events", key, request);
+    public CompletableFuture<SendResult<String, Object>> sendSuccessIndependentEvents(BaseEvent baseEvent, String key) {
+        return send("success-independent-events", key, baseEvent);
     }
 
-    public void sendFailPersonEventBatch(CreatePersonRequest request, String key) {
-        kafkaTemplate.send("fail-person-events", key, request);
+    public CompletableFuture<SendResult<String, Object>> sendFailIndependentEvents(BaseEvent baseEvent, String key) {
+        return send("fail-independent-events", key, baseEvent);
     }
 
-    public void sendFailPersonEventBatchWithNonBlockingRetry(CreatePersonRequest request, String key) {
-        kafkaTemplate.send("fail-non-blocking", key, request);
+    public CompletableFuture<SendResult<String, Object>> sendManualConsumedBatch(CreatePersonRequest request, String key) {
+        return send("manual-consumption-topic", key, request);
     }
 
-    public void sendDependentEvents(BaseEvent baseEvent, String key) {
-        kafkaTemplate.send("success-dependent-events", key, baseEvent);
+    /**
+     * Change events are keyed by tax number so all changes of one person stay ordered on one partition.
+     */
+    public CompletableFuture<SendResult<String, Object>> sendPersonChange(PersonChangeEvent event) {
+        return send("person-change-events", event.getTaxNumber(), event);
     }
 
-    public void sendFailDependentEvents(BaseEvent baseEvent, String key) {
-        kafkaTemplate.send("fail-dependent-events", key, baseEvent);
+    /**
+     * Publishes the latest state of a person to the compacted state topic; a null state is a tombstone.
+     */
+    public CompletableFuture<SendResult<String, Object>> sendPersonState(String taxNumber, PersonState state) {
+        return send(KafkaConfiguration.PERSON_STATE_TOPIC, taxNumber, state);
     }
 
-    public void sendSuccessIndependentEvents(BaseEvent baseEvent, String key) {
-        kafkaTemplate.send("success-independent-events", key, baseEvent);
+    /**
+     * Blocks until the broker acknowledges the send or {@code ack-timeout} elapses.
+     */
+    public <T> T awaitAck(CompletableFuture<T> future) {
+        try {
+            return future.get(kafkaProducerProperties.ackTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw unavailable("Interrupted while waiting for Kafka acknowledgement");
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("Kafka send was not acknowledged", e);
+            throw unavailable("Kafka did not acknowledge the message");
+        }
     }
 
-    public void sendFailIndependentEvents(BaseEvent baseEvent, String key) {
-        kafkaTemplate.send("fail-independent-events", key, baseEvent);
+    public static String orderingKey(BaseEvent baseEvent) {
+        if (baseEvent.getCorrelationId() != null) {
+            return baseEvent.getCorrelationId().toString();
+        }
+        return baseEvent.getId() != null ? baseEvent.getId().toString() : null;
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object value) {
+        acquirePermit(topic);
+        inFlight.incrementAndGet();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<SendResult<String, Object>> future;
+        try {
+            future = kafkaTemplates.get(kafkaProducerProperties.profileForTopic(topic)).send(topic, key, value);
+        } catch (RuntimeException e) {
+            complete(sample, topic, e);
+            throw e;
+        }
+        return future.whenComplete((result, exception) -> {
+            complete(sample, topic, exception);
+            if (exception != null) {
+                log.error("Failed to send message to {} with key {}", topic, key, exception);
+            }
+        });
+    }
+
+    private void acquirePermit(String topic) {
+        if (inFlightPermits == null) {
+            return;
+        }
+        try {
+            if (!inFlightPermits.tryAcquire(kafkaProducerProperties.acquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Producer backpressure: {} sends in flight, rejecting send to {}", inFlight.get(), topic);
+                throw unavailable("Too many Kafka sends in flight");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw unavailable("Interrupted while waiting for Kafka producer capacity");
+        }
+    }
+
+    private void complete(Timer.Sample sample, String topic, Throwable exception) {
+        inFlight.decrementAndGet();
+        if (inFlightPermits != null) {
+            inFlightPermits.release();
+        }
+        Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                ? exception.getCause() : exception;
+        sample.stop(Timer.builder(SEND_TIMER)
+                .tag("topic", topic)
+                .tag("outcome", cause == null ? "success" : "failure")
+                .tag("exception", cause == null ? "none" : cause.getClass().getSimpleName())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
     }
 
-    public void sendManualConsumedBatch(CreatePersonRequest request,String key) {
-        kafkaTemplate.send("manual-consumption-topic",key, request);
+    private AppException unavailable(String message) {
+        return new AppException(new ErrorCode(HttpStatus.SERVICE_UNAVAILABLE.value(), message));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.example.person_service.service;
+
+import com.example.person_service.configuration.OutboxProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the outbox: keeps publishing full batches while the backlog lasts, then sleeps for
+ * {@code person.outbox.relay-interval}. Requests that commit in between are amortized into the next batch.
+ * Relays on several instances skip each other's locked rows, so they can publish a later change of a person before an
+ * earlier one that is still in flight; enable the relay on a single instance where per-person order matters.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "person.outbox.relay-enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+    private final OutboxService outboxService;
+    private final OutboxProperties outboxProperties;
+
+    @Scheduled(fixedDelayString = "${person.outbox.relay-interval:PT0.2S}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = outboxService.publishBatch();
+            } while (published == outboxProperties.relayBatchSize());
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+}
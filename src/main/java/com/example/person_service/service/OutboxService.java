@@ -0,0 +1,156 @@
+package com.example.person_service.service;
+
+import com.example.person_service.configuration.OutboxProperties;
+import com.example.person_service.constant.PersonChangeType;
+import com.example.person_service.dto.request.PersonChangeEvent;
+import com.example.person_service.dto.request.PersonState;
+import com.example.person_service.entity.OutboxEvent;
+import com.example.person_service.entity.Person;
+import com.example.person_service.repository.OutboxEventRepository;
+import com.example.person_service.repository.PersonRepository;
+import com.example.person_service.repository.PersonSummary;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Transactional outbox for person changes. Writers append rows inside their own transaction, so a change event
+ * exists exactly when the change committed; {@link OutboxRelay} publishes and deletes them in batches afterwards.
+ * <p>
+ * Order is only guaranteed per person. Every writer holds the person row lock before it appends, so the rows of one
+ * person get increasing ids in commit order, up to clock skew between instances. Across persons a transaction can
+ * mint its id before an earlier one commits, so consumers must not rely on a global order. Tax debt rows carry
+ * additive amounts and need no order at all.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaProducerService kafkaProducerService;
+    private final PersonRepository personRepository;
+    private final OutboxProperties outboxProperties;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(PersonChangeType changeType, Person person) {
+        outboxEventRepository.save(toOutboxEvent(changeType, person, LocalDateTime.now()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(PersonChangeType changeType, Collection<Person> persons) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.saveAll(persons.stream()
+                .map(person -> toOutboxEvent(changeType, person, now))
+                .toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendDeleted(String taxNumber) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .changeType(PersonChangeType.DELETED)
+                .taxNumber(taxNumber)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendTaxDebtAdded(String taxNumber, BigDecimal amount) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .changeType(PersonChangeType.TAX_DEBT_ADDED)
+                .taxNumber(taxNumber)
+                .amount(amount)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Publishes the oldest locked rows in one producer burst, together with the resulting state of every person they
+     * touch, waits for every acknowledgement and deletes the rows with a single statement. A failed send rolls the
+     * batch back and it is published again on the next run, so delivery is at-least-once. Returns the number of rows
+     * published.
+     */
+    @Transactional
+    public int publishBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockOldestEvents(outboxProperties.relayBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<CompletableFuture<?>> acks = new ArrayList<>(batch.size() * 2);
+        batch.forEach(event -> acks.add(kafkaProducerService.sendPersonChange(toChangeEvent(event))));
+        publishStates(batch, acks);
+        kafkaProducerService.awaitAck(CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)));
+        outboxEventRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+        log.debug("Published {} person change events", batch.size());
+        return batch.size();
+    }
+
+    /**
+     * Sends one record per distinct tax number in the batch to the compacted state topic: the person as committed
+     * now, or a tombstone when the person no longer exists. State is read here rather than copied into the outbox
+     * row, so it always reflects every change committed so far. Relays running in parallel can still publish a
+     * slightly older read after a newer one; the next change of that person corrects it.
+     */
+    private void publishStates(List<OutboxEvent> batch, List<CompletableFuture<?>> acks) {
+        // batch is in id order, so the last row of each tax number is its latest change
+        Map<String, LocalDateTime> changedAt = batch.stream()
+                .collect(Collectors.toMap(OutboxEvent::getTaxNumber, OutboxEvent::getCreatedAt,
+                        (earlier, later) -> later, LinkedHashMap::new));
+        Map<String, PersonSummary> persons = personRepository.findCurrentByTaxNumberIn(changedAt.keySet()).stream()
+                .collect(Collectors.toMap(PersonSummary::getTaxNumber, Function.identity()));
+        changedAt.forEach((taxNumber, updatedAt) -> {
+            PersonSummary person = persons.get(taxNumber);
+            PersonState state = person == null ? null : toState(person, updatedAt);
+            acks.add(kafkaProducerService.sendPersonState(taxNumber, state));
+        });
+    }
+
+    private PersonState toState(PersonSummary person, LocalDateTime updatedAt) {
+        return PersonState.builder()
+                .id(person.getId())
+                .taxNumber(person.getTaxNumber())
+                .firstName(person.getFirstName())
+                .lastName(person.getLastName())
+                .dob(person.getDob())
+                .taxDebt(person.getTaxDebt())
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    private OutboxEvent toOutboxEvent(PersonChangeType changeType, Person person, LocalDateTime createdAt) {
+        return OutboxEvent.builder()
+                .changeType(changeType)
+                .taxNumber(person.getTaxNumber())
+                .personId(person.getId())
+                .firstName(person.getFirstName())
+                .lastName(person.getLastName())
+                .dob(person.getDob())
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private PersonChangeEvent toChangeEvent(OutboxEvent event) {
+        return PersonChangeEvent.builder()
+                .id(event.getId())
+                .changeType(event.getChangeType())
+                .taxNumber(event.getTaxNumber())
+                .personId(event.getPersonId())
+                .firstName(event.getFirstName())
+                .lastName(event.getLastName())
+                .dob(event.getDob())
+                .amount(event.getAmount())
+                .occurredAt(event.getCreatedAt())
+                .build();
+    }
+}
@@ -1,76 +1,222 @@
 package com.example.person_service.service;
 
+import com.example.person_service.configuration.CacheConfiguration;
+import com.example.person_service.constant.PersonChangeType;
 import com.example.person_service.dto.request.CalculateTaxRequest;
 import com.example.person_service.dto.request.CreatePersonRequest;
+import com.example.person_service.dto.request.PersonState;
 import com.example.person_service.dto.request.UpdatePersonRequest;
+import com.example.person_service.dto.response.CreatePersonBatchResponse;
+import com.example.person_service.dto.response.PersonBatchItemResponse;
 import com.example.person_service.dto.response.PersonResponse;
+import com.example.person_service.dto.response.PersonSliceResponse;
 import com.example.person_service.entity.Person;
 import com.example.person_service.exception.AppException;
 import com.example.person_service.exception.ErrorCode;
+import com.example.person_service.intergration.kafka.consumer.PersonStateView;
 import com.example.person_service.repository.PersonRepository;
+import com.example.person_service.repository.PersonSummary;
 import com.example.person_service.utils.CalculateAge;
-import jakarta.transaction.Transactional;
+import com.example.person_service.utils.NamePrefixRange;
+import com.example.person_service.utils.PersonCursor;
+import com.example.person_service.utils.TaxNumber;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 import java.math.BigDecimal;
 import java.net.SocketTimeoutException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class PersonService {
-    private static final String VIETNAM_TAX_PATTERN = "^VN[0-9]{9}$";
+    // Matches hibernate.jdbc.batch_size so each chunk is flushed as whole JDBC batches.
+    private static final int BULK_CHUNK_SIZE = 500;
     private final PersonRepository personRepository;
+    private final TaxDebtLedgerService taxDebtLedgerService;
+    private final OutboxService outboxService;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final CacheManager cacheManager;
+    private final ObjectProvider<PersonStateView> personStateView;
     private final Map<String, Integer> taxNumberAttempts = new ConcurrentHashMap<>();
 
     public PersonResponse createPerson(CreatePersonRequest request) {
-        if (!request.getTaxNumber().matches(VIETNAM_TAX_PATTERN)) {
+        String taxNumber = TaxNumber.normalize(request.getTaxNumber());
+        if (taxNumber == null) {
             log.error("Invalid tax number: {}", request.getTaxNumber());
-            throw new AppException(new ErrorCode(HttpStatus.BAD_REQUEST.value(), "Tax number must follow format: VN +" +
-                    " 9 digits"));
+            throw new AppException(new ErrorCode(HttpStatus.BAD_REQUEST.value(), TaxNumber.INVALID_MESSAGE));
         }
-        if (personRepository.findByTaxNumber(request.getTaxNumber()).isPresent()) {
-            log.warn("Person with TAX number {} already exists", request.getTaxNumber());
+        if (personRepository.findByTaxNumber(taxNumber).isPresent()) {
+            log.warn("Person with TAX number {} already exists", taxNumber);
             throw new AppException(new ErrorCode(HttpStatus.BAD_REQUEST.value(), "Tax number already exists"));
         }
 
         Person person =
-                Person.builder().firstName(request.getFirstName()).lastName(request.getLastName()).dob(request.getDob()).taxNumber(request.getTaxNumber()).build();
+                Person.builder().firstName(request.getFirstName()).lastName(request.getLastName()).dob(request.getDob()).taxNumber(taxNumber).build();
         Person savedPerson = personRepository.save(person);
+        outboxService.append(PersonChangeType.CREATED, savedPerson);
 
         return PersonResponse.builder().id(savedPerson.getId()).firstName(savedPerson.getFirstName()).lastName(savedPerson.getLastName()).age(CalculateAge.calAge(request.getDob())).taxNumber(savedPerson.getTaxNumber()).taxDebt(savedPerson.getTaxDebt()).build();
 
     }
 
+    /**
+     * Creates many persons in one transaction. Each chunk costs a single {@code tax_number IN (...)} lookup and one
+     * JDBC-batched insert, and every row gets its own success or failure entry instead of failing the whole request.
+     */
+    public CreatePersonBatchResponse createPersons(List<CreatePersonRequest> requests) {
+        long startedAt = System.nanoTime();
+        List<PersonBatchItemResponse> results = new ArrayList<>(requests.size());
+        Set<String> seenTaxNumbers = new HashSet<>();
+        for (int from = 0; from < requests.size(); from += BULK_CHUNK_SIZE) {
+            int to = Math.min(from + BULK_CHUNK_SIZE, requests.size());
+            results.addAll(createChunk(requests.subList(from, to), from, seenTaxNumbers));
+        }
+
+        int succeeded = (int) results.stream().filter(PersonBatchItemResponse::isSuccess).count();
+        log.info("Bulk created {}/{} persons in {} ms", succeeded, requests.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return CreatePersonBatchResponse.builder()
+                .total(requests.size())
+                .succeeded(succeeded)
+                .failed(requests.size() - succeeded)
+                .results(results)
+                .build();
+    }
+
+    private List<PersonBatchItemResponse> createChunk(List<CreatePersonRequest> chunk, int offset,
+                                                      Set<String> seenTaxNumbers) {
+        PersonBatchItemResponse[] results = new PersonBatchItemResponse[chunk.size()];
+        List<Integer> candidates = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            CreatePersonRequest request = chunk.get(i);
+            String error = validateForBatch(request);
+            if (error == null) {
+                request.setTaxNumber(TaxNumber.normalize(request.getTaxNumber()));
+            }
+            if (error == null && !seenTaxNumbers.add(request.getTaxNumber())) {
+                error = "Tax number duplicated in batch";
+            }
+            if (error != null) {
+                results[i] = failedItem(offset + i, request, error);
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        Set<String> existingTaxNumbers = candidates.isEmpty() ? Set.of() :
+                personRepository.findExistingTaxNumbers(candidates.stream()
+                        .map(i -> chunk.get(i).getTaxNumber())
+                        .toList());
+        List<Person> persons = new ArrayList<>(candidates.size());
+        List<Integer> personIndexes = new ArrayList<>(candidates.size());
+        for (Integer i : candidates) {
+            CreatePersonRequest request = chunk.get(i);
+            if (existingTaxNumbers.contains(request.getTaxNumber())) {
+                results[i] = failedItem(offset + i, request, "Tax number already exists");
+                continue;
+            }
+            persons.add(Person.builder().firstName(request.getFirstName()).lastName(request.getLastName()).dob(request.getDob()).taxNumber(request.getTaxNumber()).build());
+            personIndexes.add(i);
+        }
+
+        List<Person> savedPersons = personRepository.saveAll(persons);
+        outboxService.appendAll(PersonChangeType.CREATED, savedPersons);
+        personRepository.flush();
+        entityManager.clear();
+
+        for (int j = 0; j < savedPersons.size(); j++) {
+            Person savedPerson = savedPersons.get(j);
+            int i = personIndexes.get(j);
+            results[i] = PersonBatchItemResponse.builder()
+                    .index(offset + i)
+                    .taxNumber(savedPerson.getTaxNumber())
+                    .success(true)
+                    .person(PersonResponse.builder().id(savedPerson.getId()).firstName(savedPerson.getFirstName()).lastName(savedPerson.getLastName()).age(CalculateAge.calAge(savedPerson.getDob())).taxNumber(savedPerson.getTaxNumber()).taxDebt(savedPerson.getTaxDebt()).build())
+                    .build();
+        }
+        return Arrays.asList(results);
+    }
+
+    private String validateForBatch(CreatePersonRequest request) {
+        if (request == null) {
+            return "Person is required";
+        }
+        Set<ConstraintViolation<CreatePersonRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        return null;
+    }
+
+    private PersonBatchItemResponse failedItem(int index, CreatePersonRequest request, String message) {
+        return PersonBatchItemResponse.builder()
+                .index(index)
+                .taxNumber(request == null ? null : request.getTaxNumber())
+                .success(false)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Served from {@link PersonStateView} when it is enabled and has caught up, so replicas answer from memory.
+     * SUPPORTS instead of a read-only transaction, which would check out a connection even for those hits.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Cacheable(cacheNames = CacheConfiguration.PERSONS_BY_TAX_NUMBER, key = CacheConfiguration.TAX_NUMBER_KEY)
     public PersonResponse findPersonByTaxNumber(String taxNumber) {
-        var person = personRepository.findByTaxNumber(taxNumber).orElseThrow(() -> new AppException(new ErrorCode(404
-                , "Person not found")));
-        return PersonResponse.builder().id(person.getId()).firstName(person.getFirstName()).lastName(person.getLastName()).age(CalculateAge.calAge(person.getDob())).taxNumber(person.getTaxNumber()).taxDebt(person.getTaxDebt() == null ? BigDecimal.ZERO : person.getTaxDebt()).build();
+        String canonical = TaxNumber.require(taxNumber);
+        PersonStateView view = personStateView.getIfAvailable();
+        Optional<PersonState> state = view == null ? Optional.empty() : view.find(canonical);
+        if (state.isPresent()) {
+            return toResponse(state.get());
+        }
+        return personRepository.findCurrentByTaxNumber(canonical).map(this::toResponse).orElseThrow(
+                () -> new AppException(new ErrorCode(404, "Person not found")));
     }
 
+    /**
+     * Read-only projection query: only the listed columns are fetched and no {@link Person} is attached to the
+     * persistence context.
+     */
+    @Transactional(readOnly = true)
     public List<PersonResponse> findAll(Pageable pageable) {
-        Page<Person> personPage = personRepository.findAll(pageable);
-        return personPage.map(person ->
-                PersonResponse.builder()
-                        .id(person.getId())
-                        .firstName(person.getFirstName())
-                        .lastName(person.getLastName())
-                        .age(CalculateAge.calAge(person.getDob()))
-                        .taxNumber(person.getTaxNumber())
-                        .build()
-        ).getContent();
+        Page<PersonSummary> personPage = personRepository.findAllSummaries(pageable);
+        return personPage.map(this::toResponse).getContent();
     }
 
+    @Transactional(readOnly = true)
     public List<PersonResponse> filterPersons(String prefix, int minAge, Pageable pageable) {
 //        Specification<Person> specification = Specification.where(PersonSpecification.hasNameStartsWithIgnoreCase
 //        (prefix)).and(PersonSpecification.isOlderThan(minAge));
@@ -87,62 +233,204 @@ public class PersonService {
 //                                             .age(age)
 //                                             .build();
 //        }
-        Page<Person> personPage = personRepository.findByNamePrefixAndMinAge("Mi", minAge, pageable);
-        return personPage.map(person ->
-                PersonResponse.builder()
-                        .id(person.getId())
-                        .firstName(person.getFirstName())
-                        .lastName(person.getLastName())
-                        .age(CalculateAge.calAge(person.getDob()))
-                        .taxNumber(person.getTaxNumber())
-                        .taxDebt(person.getTaxDebt())
-                        .build()
-        ).getContent();
+        Page<PersonSummary> personPage = personRepository.findSummariesByNamePrefixAndMinAge(prefix, minAge, pageable);
+        return personPage.map(this::toResponse).getContent();
+    }
+
+    private PersonResponse toResponse(PersonState state) {
+        return PersonResponse.builder()
+                .id(state.getId())
+                .firstName(state.getFirstName())
+                .lastName(state.getLastName())
+                .age(CalculateAge.calAge(state.getDob()))
+                .taxNumber(state.getTaxNumber())
+                .taxDebt(state.getTaxDebt())
+                .build();
+    }
+
+    private PersonResponse toResponse(PersonSummary person) {
+        return PersonResponse.builder()
+                .id(person.getId())
+                .firstName(person.getFirstName())
+                .lastName(person.getLastName())
+                .age(CalculateAge.calAge(person.getDob()))
+                .taxNumber(person.getTaxNumber())
+                .taxDebt(person.getTaxDebt())
+                .build();
+    }
+
+    /**
+     * Keyset variant of {@link #findAll}: seeks past the cursor on {@code (last_name, id)} and fetches one extra row
+     * to detect the next page, so no OFFSET scan or count query is issued.
+     */
+    @Transactional(readOnly = true)
+    public PersonSliceResponse scrollPersons(String cursor, int size) {
+        Pageable limit = PageRequest.of(0, size);
+        Slice<PersonSummary> slice;
+        if (isNotBlank(cursor)) {
+            PersonCursor after = PersonCursor.decode(cursor);
+            slice = after.lastName() == null
+                    ? personRepository.findSummariesWithoutLastNameAfter(after.id(), limit)
+                    : continueWithoutLastName(
+                    personRepository.findSummariesAfter(after.lastName(), after.id(), limit), limit,
+                    personRepository::findSummariesWithoutLastName);
+        } else {
+            slice = personRepository.findSummarySlice(limit);
+        }
+        return toSliceResponse(slice);
+    }
+
+    /**
+     * Once the named persons run out, tops the page up from the persons without a last name, which sort last but are
+     * never matched by the row-value seek.
+     */
+    private Slice<PersonSummary> continueWithoutLastName(Slice<PersonSummary> named, Pageable limit,
+                                                         Function<Pageable, Slice<PersonSummary>> withoutLastName) {
+        if (named.hasNext()) {
+            return named;
+        }
+        int remaining = limit.getPageSize() - named.getNumberOfElements();
+        Slice<PersonSummary> unnamed = withoutLastName.apply(PageRequest.of(0, Math.max(remaining, 1)));
+        List<PersonSummary> content = new ArrayList<>(named.getContent());
+        if (remaining > 0) {
+            content.addAll(unnamed.getContent());
+        }
+        return new SliceImpl<>(content, limit, remaining > 0 ? unnamed.hasNext() : unnamed.hasContent());
+    }
+
+    @Transactional(readOnly = true)
+    public PersonSliceResponse scrollFilteredPersons(String prefix, int minAge, String cursor, int size) {
+        Pageable limit = PageRequest.of(0, size);
+        LocalDate maxDob = LocalDate.now().minusYears(minAge);
+        NamePrefixRange range = NamePrefixRange.of(prefix);
+        Slice<PersonSummary> slice;
+        if (isNotBlank(cursor)) {
+            PersonCursor after = PersonCursor.decode(cursor);
+            slice = after.lastName() == null
+                    ? personRepository.findSummariesWithoutLastNameByNamePrefixAndMaxDobAfter(range.lowerBound(),
+                    range.upperBound(), maxDob, after.id(), limit)
+                    : continueWithoutLastName(
+                    personRepository.findSummariesByNamePrefixAndMaxDobAfter(range.lowerBound(), range.upperBound(),
+                            maxDob, after.lastName(), after.id(), limit), limit,
+                    unnamedLimit -> personRepository.findSummariesWithoutLastNameByNamePrefixAndMaxDob(
+                            range.lowerBound(), range.upperBound(), maxDob, unnamedLimit));
+        } else {
+            slice = personRepository.findSummarySliceByNamePrefixAndMaxDob(range.lowerBound(), range.upperBound(), maxDob,
+                    limit);
+        }
+        return toSliceResponse(slice);
+    }
+
+    private PersonSliceResponse toSliceResponse(Slice<PersonSummary> slice) {
+        List<PersonSummary> persons = slice.getContent();
+        return PersonSliceResponse.builder()
+                .content(persons.stream().map(this::toResponse).toList())
+                .hasNext(slice.hasNext())
+                .nextCursor(slice.hasNext() ? PersonCursor.of(persons.get(persons.size() - 1)).encode() : null)
+                .build();
     }
 
     private boolean isNotBlank(String value) {
         return value != null && !value.trim().isEmpty();
     }
 
+    @CacheEvict(cacheNames = CacheConfiguration.PERSONS_BY_TAX_NUMBER, key = CacheConfiguration.TAX_ID_KEY)
     public PersonResponse updatePerson(String taxId, UpdatePersonRequest request) {
         var existingPerson =
-                personRepository.findByTaxNumber(taxId).orElseThrow(() -> new AppException(new ErrorCode(HttpStatus.NOT_FOUND.value(), "Person not found")));
-        Person updatedPerson = Person.builder()
-                .id(existingPerson.getId())
-                .taxNumber(existingPerson.getTaxNumber())
-                .firstName(isNotBlank(request.getFirstName()) ? request.getFirstName().trim() :
-                        existingPerson.getFirstName())
-                .lastName(isNotBlank(request.getLastName()) ? request.getLastName().trim() :
-                        existingPerson.getLastName())
-                .dob(request.getDob() != null ? request.getDob() : existingPerson.getDob())
-                .build();
-
-        Person savedPerson = personRepository.save(updatedPerson);
-        int age = CalculateAge.calAge(existingPerson.getDob());
+                personRepository.findByTaxNumber(TaxNumber.require(taxId)).orElseThrow(() -> new AppException(new ErrorCode(HttpStatus.NOT_FOUND.value(), "Person not found")));
+        // Mutate the managed entity so @DynamicUpdate writes only the changed name/dob columns and never
+        // overwrites a tax_debt that a concurrent addTaxDebt has just incremented.
+        if (isNotBlank(request.getFirstName())) {
+            existingPerson.setFirstName(request.getFirstName().trim());
+        }
+        if (isNotBlank(request.getLastName())) {
+            existingPerson.setLastName(request.getLastName().trim());
+        }
         if (request.getDob() != null) {
-            age = CalculateAge.calAge(request.getDob());
+            existingPerson.setDob(request.getDob());
         }
-        return PersonResponse.builder().id(savedPerson.getId()).firstName(savedPerson.getFirstName()).lastName(savedPerson.getLastName()).age(age).taxNumber(savedPerson.getTaxNumber()).taxDebt(savedPerson.getTaxDebt())
+
+        // flushed first so the row lock orders concurrent updates of this person before their outbox ids are minted
+        Person savedPerson = personRepository.saveAndFlush(existingPerson);
+        outboxService.append(PersonChangeType.UPDATED, savedPerson);
+        return PersonResponse.builder().id(savedPerson.getId()).firstName(savedPerson.getFirstName()).lastName(savedPerson.getLastName()).age(CalculateAge.calAge(savedPerson.getDob())).taxNumber(savedPerson.getTaxNumber()).taxDebt(currentTaxDebt(savedPerson))
                 .build();
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfiguration.PERSONS_BY_TAX_NUMBER, key = CacheConfiguration.TAX_ID_KEY)
     public void deletePerson(String taxId) {
-        personRepository.findByTaxNumber(taxId).orElseThrow(() -> new AppException(new ErrorCode(HttpStatus.NOT_FOUND.value(), "Person not found")));
-        personRepository.deleteByTaxNumber(taxId);
+        String taxNumber = TaxNumber.require(taxId);
+        personRepository.findByTaxNumber(taxNumber).orElseThrow(() -> new AppException(new ErrorCode(HttpStatus.NOT_FOUND.value(), "Person not found")));
+        personRepository.deleteByTaxNumber(taxNumber);
+        taxDebtLedgerService.discard(taxNumber);
+        outboxService.appendDeleted(taxNumber);
     }
 
+    @CacheEvict(cacheNames = CacheConfiguration.PERSONS_BY_TAX_NUMBER, key = CacheConfiguration.REQUEST_TAX_NUMBER_KEY)
     public void handleTaxCalculation(CalculateTaxRequest request) {
-        var existingPerson =
-                personRepository.findByTaxNumber(request.getTaxNumber()).orElseThrow(() -> new AppException(new ErrorCode(HttpStatus.NOT_FOUND.value(), "Person not found")));
-        BigDecimal taxAmount;
-        if (request.getAmount() != null) {
-            taxAmount = request.getAmount();
-        } else {
-            taxAmount = BigDecimal.ZERO;
+        request.setTaxNumber(TaxNumber.require(request.getTaxNumber()));
+        defaultAmount(request);
+        if (personRepository.findExistingTaxNumbers(List.of(request.getTaxNumber())).isEmpty()) {
+            throw new AppException(new ErrorCode(HttpStatus.NOT_FOUND.value(), "Person not found"));
+        }
+        taxDebtLedgerService.append(List.of(request));
+        outboxService.appendTaxDebtAdded(request.getTaxNumber(), request.getAmount());
+    }
+
+    /**
+     * Appends a whole batch of tax events to the ledger with one existence lookup and one batched insert. Events for
+     * unknown tax numbers are reported as failed rows instead of failing the batch.
+     */
+    public List<PersonBatchItemResponse> handleTaxCalculations(List<CalculateTaxRequest> requests) {
+        requests.stream()
+                .filter(request -> request != null)
+                .forEach(request -> {
+                    request.setTaxNumber(TaxNumber.normalize(request.getTaxNumber()));
+                    defaultAmount(request);
+                });
+        List<String> taxNumbers = requests.stream()
+                .filter(request -> request != null && request.getTaxNumber() != null)
+                .map(CalculateTaxRequest::getTaxNumber)
+                .distinct()
+                .toList();
+        Set<String> existingTaxNumbers = taxNumbers.isEmpty() ? Set.of() :
+                personRepository.findExistingTaxNumbers(taxNumbers);
+
+        List<PersonBatchItemResponse> results = new ArrayList<>(requests.size());
+        List<CalculateTaxRequest> accepted = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CalculateTaxRequest request = requests.get(i);
+            boolean exists = request != null && existingTaxNumbers.contains(request.getTaxNumber());
+            if (exists) {
+                accepted.add(request);
+            }
+            results.add(PersonBatchItemResponse.builder()
+                    .index(i)
+                    .taxNumber(request == null ? null : request.getTaxNumber())
+                    .success(exists)
+                    .message(exists ? null : "Person not found")
+                    .build());
         }
-        existingPerson.addTaxDebt(taxAmount);
-        personRepository.save(existingPerson);
+        taxDebtLedgerService.append(accepted);
+        accepted.forEach(request -> outboxService.appendTaxDebtAdded(request.getTaxNumber(), request.getAmount()));
+
+        Cache cache = cacheManager.getCache(CacheConfiguration.PERSONS_BY_TAX_NUMBER);
+        if (cache != null) {
+            accepted.stream().map(request -> TaxNumber.cacheKey(request.getTaxNumber())).distinct().forEach(cache::evict);
+        }
+        return results;
+    }
+
+    // defaulted before the ledger and the outbox see the request, so the stored entry and the change event agree
+    private void defaultAmount(CalculateTaxRequest request) {
+        if (request.getAmount() == null) {
+            request.setAmount(BigDecimal.ZERO);
+        }
+    }
+
+    private BigDecimal currentTaxDebt(Person person) {
+        return personRepository.findCurrentTaxDebt(person.getTaxNumber()).orElse(BigDecimal.ZERO);
     }
 
 
@@ -0,0 +1,65 @@
+package com.example.person_service.service;
+
+import com.example.person_service.configuration.TaxLedgerProperties;
+import com.example.person_service.dto.request.CalculateTaxRequest;
+import com.example.person_service.entity.TaxDebtLedgerEntry;
+import com.example.person_service.repository.PersonRepository;
+import com.example.person_service.repository.TaxDebtLedgerRepository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Append-only tax debt ledger. Tax events only insert ledger rows; a background job periodically folds them into the
+ * {@code persons.tax_debt} snapshot, so the hot person row is updated once per compaction instead of once per event.
+ * The current debt is the snapshot plus the sum of the un-compacted tail.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class TaxDebtLedgerService {
+    private final TaxDebtLedgerRepository taxDebtLedgerRepository;
+    private final PersonRepository personRepository;
+    private final TaxLedgerProperties taxLedgerProperties;
+
+    public void append(List<CalculateTaxRequest> requests) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaxDebtLedgerEntry> entries = requests.stream()
+                .map(request -> TaxDebtLedgerEntry.builder()
+                        .taxNumber(request.getTaxNumber())
+                        .amount(request.getAmount())
+                        .createdAt(now)
+                        .build())
+                .toList();
+        taxDebtLedgerRepository.saveAll(entries);
+    }
+
+    public void discard(String taxNumber) {
+        taxDebtLedgerRepository.deleteByTaxNumber(taxNumber);
+    }
+
+    @Scheduled(fixedDelayString = "${person.tax.ledger.compaction-interval:PT5S}")
+    public void compact() {
+        List<TaxDebtLedgerEntry> entries =
+                taxDebtLedgerRepository.lockOldestEntries(taxLedgerProperties.compactionBatchSize());
+        if (entries.isEmpty()) {
+            return;
+        }
+        // sorted, so concurrent compactors lock persons rows in the same order and cannot deadlock each other
+        Map<String, BigDecimal> totals = entries.stream()
+                .collect(Collectors.groupingBy(TaxDebtLedgerEntry::getTaxNumber, TreeMap::new,
+                        Collectors.reducing(BigDecimal.ZERO, TaxDebtLedgerEntry::getAmount, BigDecimal::add)));
+        totals.forEach(personRepository::addTaxDebt);
+        taxDebtLedgerRepository.deleteAllInBatch(entries);
+        log.info("Compacted {} ledger entries into {} tax debt snapshots", entries.size(), totals.size());
+    }
+}
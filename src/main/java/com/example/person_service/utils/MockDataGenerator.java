@@ -2,6 +2,7 @@ package com.example.person_service.utils;
 
 
 import com.example.person_service.constant.EventType;
+import com.example.person_service.entity.TimeOrderedUuidGenerator;
 import com.example.person_service.dto.request.CreatePersonEvent;
 import com.example.person_service.dto.request.CreatePersonRequest;
 import com.example.person_service.dto.request.ReadPersonEvent;
@@ -23,7 +24,7 @@ public class MockDataGenerator {
     }
 
     public static UUID generateRandomUUID() {
-        return UUID.randomUUID();
+        return TimeOrderedUuidGenerator.next();
     }
 
     public static CreatePersonEvent generateRandomCreatePersonEvent(int index) {
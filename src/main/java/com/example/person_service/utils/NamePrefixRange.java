@@ -0,0 +1,27 @@
+package com.example.person_service.utils;
+
+import java.util.Locale;
+
+/**
+ * Turns a name prefix into the half-open range {@code [lowerBound, upperBound)} over {@code lower(name)}. Range
+ * predicates with the pattern operators ({@code ~>=~}, {@code ~<~}) can always be served by a
+ * {@code text_pattern_ops} index, unlike {@code LIKE} with a bind parameter under a generic plan.
+ */
+public record NamePrefixRange(String lowerBound, String upperBound) {
+    // the pattern operators compare UTF-8 bytes, where the highest code point sorts after every other character
+    static final String UNBOUNDED = new String(Character.toChars(Character.MAX_CODE_POINT));
+
+    public static NamePrefixRange of(String prefix) {
+        String lowerBound = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        // Character.MAX_VALUE has no successor, so trailing ones are dropped and the character before them incremented
+        int end = lowerBound.length();
+        while (end > 0 && lowerBound.charAt(end - 1) == Character.MAX_VALUE) {
+            end--;
+        }
+        if (end == 0) {
+            return new NamePrefixRange(lowerBound, UNBOUNDED);
+        }
+        String upperBound = lowerBound.substring(0, end - 1) + (char) (lowerBound.charAt(end - 1) + 1);
+        return new NamePrefixRange(lowerBound, upperBound);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.person_service.utils;
+
+import com.example.person_service.exception.AppException;
+import com.example.person_service.exception.ErrorCode;
+import com.example.person_service.repository.PersonSummary;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Opaque keyset cursor over the stable {@code (last_name, id)} sort order. Clients only pass back what they received
+ * in {@code nextCursor}. The last name is written after a presence marker, so a person without one is not confused
+ * with a person literally named {@code "null"}.
+ */
+public record PersonCursor(String lastName, UUID id) {
+    private static final char SEPARATOR = ':';
+    private static final char PRESENT = '+';
+    private static final char ABSENT = '-';
+
+    public static PersonCursor of(PersonSummary person) {
+        return new PersonCursor(person.getLastName(), person.getId());
+    }
+
+    public String encode() {
+        String raw = id.toString() + SEPARATOR + (lastName == null ? String.valueOf(ABSENT) : PRESENT + lastName);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PersonCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            UUID id = UUID.fromString(raw.substring(0, separator));
+            String lastName = raw.substring(separator + 1);
+            if (lastName.length() == 1 && lastName.charAt(0) == ABSENT) {
+                return new PersonCursor(null, id);
+            }
+            if (lastName.charAt(0) != PRESENT) {
+                throw new IllegalArgumentException("Missing last name marker");
+            }
+            return new PersonCursor(lastName.substring(1), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new AppException(new ErrorCode(HttpStatus.BAD_REQUEST.value(), "Invalid cursor"));
+        }
+    }
+}
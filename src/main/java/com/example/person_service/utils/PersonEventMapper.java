@@ -1,13 +1,26 @@
 package com.example.person_service.utils;
 
 import com.example.person_service.constant.EventType;
+import com.example.person_service.entity.TimeOrderedUuidGenerator;
 import com.example.person_service.dto.request.*;
 import com.example.person_service.entity.FailPersonEvent;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
 
 @Component
 public class PersonEventMapper {
+    private final Map<EventType, Function<BaseEvent, FailPersonEvent>> failPersonEventExtractors =
+            new EnumMap<>(Map.of(
+                    EventType.CREATE_PERSON, event -> extractCreatePersonEvent((CreatePersonEvent) event),
+                    EventType.READ_PERSON, event -> extractReadPersonEvent((ReadPersonEvent) event),
+                    EventType.UPDATE_PERSON, event -> extractUpdatePersonEvent((UpdatePersonEvent) event),
+                    EventType.DELETE_PERSON, event -> extractDeletePersonEvent((DeletePersonEvent) event)));
+
     public CreatePersonRequest toRequest(CreatePersonEvent event) {
         return CreatePersonRequest.builder()
                 .firstName(event.getFirstName())
@@ -40,6 +53,18 @@ public class PersonEventMapper {
                 .build();
     }
 
+    public FailPersonEvent extractCreatePersonRequest(CreatePersonRequest request) {
+        return FailPersonEvent.builder()
+                .id(TimeOrderedUuidGenerator.next())
+                .eventType(String.valueOf(EventType.CREATE_PERSON))
+                .timestamp(LocalDateTime.now())
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .dob(request.getDob())
+                .taxNumber(request.getTaxNumber())
+                .build();
+    }
+
     public CreatePersonEvent extractFailPersonEvent(FailPersonEvent event) {
         return CreatePersonEvent.builder()
                 .id(event.getId())
@@ -82,4 +107,24 @@ public class PersonEventMapper {
                 .build();
     }
 
+    public FailPersonEvent extractDeletePersonEvent(DeletePersonEvent event) {
+        return FailPersonEvent.builder()
+                .id(event.getId())
+                .correlationId(event.getCorrelationId())
+                .eventType(String.valueOf(event.getEventType()))
+                .orderNumber(event.getOrderNumber())
+                .timestamp(event.getTimestamp())
+                .taxNumber(event.getTaxNumber())
+                .build();
+    }
+
+    /**
+     * Picks the extractor by {@link EventType}; returns {@code null} for events without a type, which have nothing
+     * to park.
+     */
+    public FailPersonEvent toFailPersonEvent(BaseEvent event) {
+        Function<BaseEvent, FailPersonEvent> extractor =
+                event.getEventType() == null ? null : failPersonEventExtractors.get(event.getEventType());
+        return extractor == null ? null : extractor.apply(event);
+    }
 }
@@ -0,0 +1,87 @@
+package com.example.person_service.utils;
+
+import com.example.person_service.exception.AppException;
+import com.example.person_service.exception.ErrorCode;
+import java.util.Locale;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Single definition of the Vietnamese tax number rule, {@code VN} followed by 9 digits. Checks are a plain char scan
+ * rather than a regex, and the 9 digits can be packed into a {@code long} for use as a compact map or cache key.
+ */
+public final class TaxNumber {
+    public static final String PREFIX = "VN";
+    public static final int DIGITS = 9;
+    public static final int LENGTH = PREFIX.length() + DIGITS;
+    public static final String INVALID_MESSAGE = "Tax number must follow format: VN + 9 digits";
+
+    private TaxNumber() {
+    }
+
+    /**
+     * True when the value is already in canonical form: exactly {@code VN} and 9 ASCII digits, no surrounding spaces.
+     */
+    public static boolean isCanonical(CharSequence value) {
+        if (value == null || value.length() != LENGTH || value.charAt(0) != 'V' || value.charAt(1) != 'N') {
+            return false;
+        }
+        for (int i = PREFIX.length(); i < LENGTH; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the canonical form (trimmed, upper case), or {@code null} when the value is not a tax number. Canonical
+     * input is returned as is without allocating.
+     */
+    public static String normalize(String value) {
+        if (value == null || isCanonical(value)) {
+            return value;
+        }
+        String candidate = value.trim().toUpperCase(Locale.ROOT);
+        return isCanonical(candidate) ? candidate : null;
+    }
+
+    /**
+     * Like {@link #normalize} but rejects missing or malformed values with a 400.
+     */
+    public static String require(String value) {
+        String canonical = normalize(value);
+        if (canonical == null) {
+            throw new AppException(new ErrorCode(HttpStatus.BAD_REQUEST.value(), INVALID_MESSAGE));
+        }
+        return canonical;
+    }
+
+    public static long pack(String canonical) {
+        long digits = 0;
+        for (int i = PREFIX.length(); i < LENGTH; i++) {
+            digits = digits * 10 + (canonical.charAt(i) - '0');
+        }
+        return digits;
+    }
+
+    public static String unpack(long digits) {
+        char[] chars = new char[LENGTH];
+        chars[0] = 'V';
+        chars[1] = 'N';
+        for (int i = LENGTH - 1; i >= PREFIX.length(); i--) {
+            chars[i] = (char) ('0' + digits % 10);
+            digits /= 10;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Cache key for a tax number as it arrives: the packed digits when it is valid, so {@code "vn123456789 "} and
+     * {@code "VN123456789"} share an entry, otherwise the raw value.
+     */
+    public static Object cacheKey(String value) {
+        String canonical = normalize(value);
+        return canonical == null ? value : pack(canonical);
+    }
+}
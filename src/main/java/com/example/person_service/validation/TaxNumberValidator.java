@@ -0,0 +1,13 @@
+package com.example.person_service.validation;
+
+import com.example.person_service.utils.TaxNumber;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class TaxNumberValidator implements ConstraintValidator<ValidTaxNumber, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || TaxNumber.normalize(value) != null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.person_service.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The value must normalize to a tax number, see {@link com.example.person_service.utils.TaxNumber}. {@code null} is
+ * valid; combine with {@code @NotBlank} when the field is required.
+ */
+@Documented
+@Constraint(validatedBy = TaxNumberValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidTaxNumber {
+    String message() default "Tax number must start with 'VN' followed by 9 digits";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,105 @@
+package com.example.person_service.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedUuidGeneratorTest {
+    private static final long MILLIS = 1_760_000_000_000L;
+
+    private final AtomicLong state = new AtomicLong();
+
+    @Test
+    void setsVersionVariantAndTimestamp() {
+        UUID id = TimeOrderedUuidGenerator.next(state, MILLIS);
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(timestamp(id)).isEqualTo(MILLIS);
+        assertThat(counter(id)).isZero();
+    }
+
+    @Test
+    void countsUpWithinOneMillisecond() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(TimeOrderedUuidGenerator.next(state, MILLIS));
+        }
+
+        assertStrictlyIncreasing(ids);
+        for (int i = 0; i < ids.size(); i++) {
+            assertThat(timestamp(ids.get(i))).isEqualTo(MILLIS);
+            assertThat(counter(ids.get(i))).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void counterOverflowBorrowsFromNextMillisecond() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 4097; i++) {
+            ids.add(TimeOrderedUuidGenerator.next(state, MILLIS));
+        }
+        // the clock catching up with the borrowed millisecond continues its counter
+        ids.add(TimeOrderedUuidGenerator.next(state, MILLIS + 1));
+
+        assertStrictlyIncreasing(ids);
+        assertThat(counter(ids.get(4095))).isEqualTo(0xFFF);
+        assertThat(timestamp(ids.get(4096))).isEqualTo(MILLIS + 1);
+        assertThat(counter(ids.get(4096))).isZero();
+        assertThat(timestamp(ids.get(4097))).isEqualTo(MILLIS + 1);
+        assertThat(counter(ids.get(4097))).isEqualTo(1);
+        assertThat(ids).allSatisfy(id -> assertThat(id.version()).isEqualTo(7));
+    }
+
+    @Test
+    void newMillisecondResetsCounter() {
+        TimeOrderedUuidGenerator.next(state, MILLIS);
+        TimeOrderedUuidGenerator.next(state, MILLIS);
+
+        UUID id = TimeOrderedUuidGenerator.next(state, MILLIS + 5);
+
+        assertThat(timestamp(id)).isEqualTo(MILLIS + 5);
+        assertThat(counter(id)).isZero();
+    }
+
+    @Test
+    void clockGoingBackwardsStillIncreases() {
+        UUID first = TimeOrderedUuidGenerator.next(state, MILLIS);
+        UUID second = TimeOrderedUuidGenerator.next(state, MILLIS - 1000);
+
+        assertStrictlyIncreasing(List.of(first, second));
+        assertThat(timestamp(second)).isEqualTo(MILLIS);
+    }
+
+    @Test
+    void sharedGeneratorIsMonotonicAndCurrent() {
+        long before = System.currentTimeMillis();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(TimeOrderedUuidGenerator.next());
+        }
+
+        assertStrictlyIncreasing(ids);
+        assertThat(timestamp(ids.get(0))).isGreaterThanOrEqualTo(before);
+    }
+
+    private static void assertStrictlyIncreasing(List<UUID> ids) {
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(Long.compareUnsigned(ids.get(i).getMostSignificantBits(), ids.get(i - 1).getMostSignificantBits()))
+                    .as("id %d after id %d", i, i - 1)
+                    .isPositive();
+        }
+    }
+
+    private static long timestamp(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    private static long counter(UUID id) {
+        return id.getMostSignificantBits() & 0xFFF;
+    }
+}
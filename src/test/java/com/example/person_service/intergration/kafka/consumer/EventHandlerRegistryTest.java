@@ -0,0 +1,76 @@
+package com.example.person_service.intergration.kafka.consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.person_service.constant.EventType;
+import com.example.person_service.dto.request.BaseEvent;
+import com.example.person_service.dto.request.CreatePersonEvent;
+import com.example.person_service.dto.request.DeletePersonEvent;
+import com.example.person_service.dto.request.UpdatePersonEvent;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EventHandlerRegistryTest {
+    private final List<Object> handled = new ArrayList<>();
+    private final EventHandlerRegistry registry = EventHandlerRegistry.builder()
+            .on(EventType.CREATE_PERSON, CreatePersonEvent.class, event -> handled.add("create " + event.getTaxNumber()))
+            .on(EventType.UPDATE_PERSON, UpdatePersonEvent.class, event -> handled.add("update " + event.getTaxNumber()))
+            .build();
+
+    @Test
+    void dispatchesToHandlerOfEventType() {
+        registry.dispatch(CreatePersonEvent.builder().eventType(EventType.CREATE_PERSON).taxNumber("VN000000001").build());
+        registry.dispatch(UpdatePersonEvent.builder().eventType(EventType.UPDATE_PERSON).taxNumber("VN000000002").build());
+
+        assertThat(handled).containsExactly("create VN000000001", "update VN000000002");
+    }
+
+    @Test
+    void reportsSupportedTypes() {
+        assertThat(registry.supports(EventType.CREATE_PERSON)).isTrue();
+        assertThat(registry.supports(EventType.UPDATE_PERSON)).isTrue();
+        assertThat(registry.supports(EventType.DELETE_PERSON)).isFalse();
+    }
+
+    @Test
+    void rejectsUnregisteredType() {
+        BaseEvent event = DeletePersonEvent.builder().eventType(EventType.DELETE_PERSON).build();
+
+        assertThatThrownBy(() -> registry.dispatch(event))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("DELETE_PERSON");
+        assertThat(handled).isEmpty();
+    }
+
+    @Test
+    void rejectsEventWithoutType() {
+        assertThatThrownBy(() -> registry.dispatch(new BaseEvent()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(handled).isEmpty();
+    }
+
+    @Test
+    void rejectsPayloadOfWrongClass() {
+        // a plain BaseEvent claiming a type whose handler expects a subclass, e.g. a payload that fell back on decode
+        BaseEvent event = BaseEvent.builder().eventType(EventType.CREATE_PERSON).build();
+
+        assertThatThrownBy(() -> registry.dispatch(event))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("CreatePersonEvent");
+        assertThat(handled).isEmpty();
+    }
+
+    @Test
+    void laterRegistrationReplacesEarlierOne() {
+        EventHandlerRegistry replaced = EventHandlerRegistry.builder()
+                .on(EventType.CREATE_PERSON, CreatePersonEvent.class, event -> handled.add("first"))
+                .on(EventType.CREATE_PERSON, CreatePersonEvent.class, event -> handled.add("second"))
+                .build();
+
+        replaced.dispatch(CreatePersonEvent.builder().eventType(EventType.CREATE_PERSON).build());
+
+        assertThat(handled).containsExactly("second");
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.person_service.intergration.kafka.consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.person_service.configuration.KafkaBatchProperties;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class KeyOrderedExecutorTest {
+    private KeyOrderedExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        KafkaBatchProperties properties = new KafkaBatchProperties(null, 500, 1, 500, 1, 4, null, null);
+        executor = new KeyOrderedExecutor(properties, new MockEnvironment());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void runsItemsOfOneKeyInOriginalOrder() {
+        List<Item> items = new ArrayList<>();
+        for (int sequence = 0; sequence < 50; sequence++) {
+            items.add(new Item("key-" + sequence % 3, sequence));
+        }
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+
+        KeyOrderedExecutor.Outcome<Item> outcome = executor.execute(items, Item::key,
+                item -> seen.computeIfAbsent(item.key(), key -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(item.sequence()));
+
+        assertThat(outcome.hasFailures()).isFalse();
+        assertThat(outcome.completed()).hasSize(50);
+        seen.values().forEach(sequences -> assertThat(sequences).isSorted());
+    }
+
+    @Test
+    void runsDifferentKeysInParallel() {
+        // each key waits for the other, so the batch only completes if both chains run at the same time
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        List<Item> items = List.of(new Item("a", 0), new Item("b", 1));
+
+        KeyOrderedExecutor.Outcome<Item> outcome = executor.execute(items, Item::key, item -> {
+            try {
+                barrier.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(outcome.failed()).isEmpty();
+        assertThat(outcome.completed()).containsExactlyInAnyOrderElementsOf(items);
+    }
+
+    @Test
+    void stopsChainAtFirstFailure() {
+        Item first = new Item("a", 0);
+        Item poison = new Item("a", 1);
+        Item skipped = new Item("a", 2);
+        Item otherKey = new Item("b", 3);
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        KeyOrderedExecutor.Outcome<Item> outcome = executor.execute(List.of(first, poison, skipped, otherKey),
+                Item::key, item -> {
+                    if (item == poison) {
+                        throw failure;
+                    }
+                });
+
+        assertThat(outcome.hasFailures()).isTrue();
+        assertThat(outcome.failed()).containsExactly(Map.entry(poison, failure));
+        assertThat(outcome.completed()).containsExactlyInAnyOrder(first, otherKey);
+    }
+
+    @Test
+    void runsSingleKeyOnCallingThread() {
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+
+        executor.execute(List.of(new Item("a", 0), new Item("a", 1)), Item::key,
+                item -> threads.add(Thread.currentThread()));
+
+        assertThat(threads).containsOnly(caller);
+    }
+
+    @Test
+    void tracksEqualItemsByIdentity() {
+        Item item = new Item("a", 0);
+        Item equalItem = new Item("a", 0);
+
+        KeyOrderedExecutor.Outcome<Item> outcome = executor.execute(List.of(item, equalItem, new Item("b", 0)),
+                Item::key, ignored -> {
+                });
+
+        assertThat(outcome.completed()).hasSize(3);
+    }
+
+    private record Item(String key, int sequence) {
+    }
+}
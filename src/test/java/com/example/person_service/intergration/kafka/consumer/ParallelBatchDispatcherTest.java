@@ -0,0 +1,97 @@
+package com.example.person_service.intergration.kafka.consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.person_service.configuration.KafkaBatchProperties;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.mock.env.MockEnvironment;
+
+class ParallelBatchDispatcherTest {
+    private static final TopicPartition PARTITION_0 = new TopicPartition("topic", 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition("topic", 1);
+
+    private KeyOrderedExecutor executor;
+    private ParallelBatchDispatcher dispatcher;
+    private MockConsumer<String, String> consumer;
+
+    @BeforeEach
+    void setUp() {
+        KafkaBatchProperties properties = new KafkaBatchProperties(null, 500, 1, 500, 1, 4, null, null);
+        executor = new KeyOrderedExecutor(properties, new MockEnvironment());
+        dispatcher = new ParallelBatchDispatcher(executor);
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(PARTITION_0, PARTITION_1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void acknowledgesWhenEveryRecordCompletes() {
+        AtomicBoolean acked = new AtomicBoolean();
+        List<ConsumerRecord<String, String>> records = List.of(record(0, 0, "a"), record(0, 1, "b"), record(1, 0, "c"));
+
+        int completed = dispatcher.dispatch(records, consumer, () -> acked.set(true), ConsumerRecord::key, record -> {
+        });
+
+        assertThat(completed).isEqualTo(3);
+        assertThat(acked).isTrue();
+    }
+
+    @Test
+    void commitsContiguousPrefixAndReportsFirstFailedRecord() {
+        AtomicBoolean acked = new AtomicBoolean();
+        ConsumerRecord<String, String> poison = record(0, 2, "poison");
+        List<ConsumerRecord<String, String>> records = List.of(
+                record(0, 0, "a"), record(0, 1, "b"), poison, record(0, 3, "d"),
+                record(1, 0, "e"), record(1, 1, "f"));
+
+        assertThatThrownBy(() -> dispatcher.dispatch(records, consumer, () -> acked.set(true), ConsumerRecord::key,
+                record -> {
+                    if (record == poison) {
+                        throw new IllegalStateException("boom");
+                    }
+                }))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, e -> {
+                    assertThat(e.getRecord()).isSameAs(poison);
+                    assertThat(e.getCause()).hasMessage("boom");
+                });
+        assertThat(acked).isFalse();
+        assertThat(consumer.committed(Set.of(PARTITION_0, PARTITION_1)))
+                .containsEntry(PARTITION_0, new OffsetAndMetadata(2))
+                .containsEntry(PARTITION_1, new OffsetAndMetadata(2));
+    }
+
+    @Test
+    void namesFailedRecordAheadOfSkippedSuccessorsOfTheSameKey() {
+        ConsumerRecord<String, String> first = record(0, 0, "same");
+        ConsumerRecord<String, String> second = record(0, 1, "same");
+
+        assertThatThrownBy(() -> dispatcher.dispatch(List.of(first, second), consumer, () -> {
+        }, ConsumerRecord::key, record -> {
+            throw new IllegalStateException("boom");
+        }))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getRecord()).isSameAs(first));
+        assertThat(consumer.committed(Set.of(PARTITION_0))).isEqualTo(Map.of());
+    }
+
+    private static ConsumerRecord<String, String> record(int partition, long offset, String key) {
+        return new ConsumerRecord<>("topic", partition, offset, key, key);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.person_service.intergration.kafka.consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.person_service.configuration.CacheConfiguration;
+import com.example.person_service.configuration.KafkaConfiguration;
+import com.example.person_service.dto.request.PersonState;
+import com.example.person_service.utils.TaxNumber;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConsumerSeekAware.ConsumerSeekCallback;
+
+class PersonStateViewTest {
+    private static final TopicPartition PARTITION_0 = new TopicPartition(KafkaConfiguration.PERSON_STATE_TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(KafkaConfiguration.PERSON_STATE_TOPIC, 1);
+    private static final String TAX_NUMBER_A = "VN000000001";
+    private static final String TAX_NUMBER_B = "VN000000002";
+
+    private MockConsumer<String, Object> offsetsConsumer;
+    private MockConsumer<String, Object> listenerConsumer;
+    private CacheManager cacheManager;
+    private ConsumerSeekCallback seekCallback;
+    private PersonStateView view;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        offsetsConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        ConsumerFactory<String, Object> consumerFactory = mock(ConsumerFactory.class);
+        when(consumerFactory.createConsumer()).thenReturn(offsetsConsumer);
+        listenerConsumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        listenerConsumer.assign(List.of(PARTITION_0, PARTITION_1));
+        cacheManager = new ConcurrentMapCacheManager(CacheConfiguration.PERSONS_BY_TAX_NUMBER);
+        seekCallback = mock(ConsumerSeekCallback.class);
+        view = new PersonStateView(consumerFactory, cacheManager);
+    }
+
+    @Test
+    void answersOnlyOnceEveryPartitionIsReplayed() {
+        assign(Map.of(PARTITION_0, 2L, PARTITION_1, 1L));
+        verify(seekCallback).seekToBeginning(Set.of(PARTITION_0, PARTITION_1));
+
+        apply(PARTITION_0, 0, TAX_NUMBER_A, state(TAX_NUMBER_A, "1"));
+        apply(PARTITION_0, 1, TAX_NUMBER_A, state(TAX_NUMBER_A, "2"));
+        assertThat(view.find(TAX_NUMBER_A)).isEmpty();
+
+        apply(PARTITION_1, 0, TAX_NUMBER_B, state(TAX_NUMBER_B, "3"));
+
+        assertThat(view.find(TAX_NUMBER_A)).map(PersonState::getTaxDebt).contains(new BigDecimal("2"));
+        assertThat(view.find(TAX_NUMBER_B)).map(PersonState::getTaxDebt).contains(new BigDecimal("3"));
+    }
+
+    @Test
+    void catchesUpWhenCompactionRemovedTheLastOffsets() {
+        assign(Map.of(PARTITION_0, 5L));
+
+        // offsets 1-4 were compacted away, so the consumer position jumps straight to the end offset
+        apply(PARTITION_0, 0, TAX_NUMBER_A, state(TAX_NUMBER_A, "1"), 5);
+
+        assertThat(view.find(TAX_NUMBER_A)).isPresent();
+    }
+
+    @Test
+    void emptyTopicIsCaughtUpOnAssignment() {
+        assign(Map.of(PARTITION_0, 0L, PARTITION_1, 0L));
+
+        apply(PARTITION_0, 0, TAX_NUMBER_A, state(TAX_NUMBER_A, "1"));
+
+        assertThat(view.find(TAX_NUMBER_A)).isPresent();
+    }
+
+    @Test
+    void tombstoneRemovesState() {
+        assign(Map.of(PARTITION_0, 1L));
+        apply(PARTITION_0, 0, TAX_NUMBER_A, state(TAX_NUMBER_A, "1"));
+
+        apply(PARTITION_0, 1, TAX_NUMBER_A, null);
+
+        assertThat(view.find(TAX_NUMBER_A)).isEmpty();
+    }
+
+    @Test
+    void evictsCachedPersonOnEveryRecord() {
+        assign(Map.of(PARTITION_0, 0L));
+        cacheManager.getCache(CacheConfiguration.PERSONS_BY_TAX_NUMBER).put(TaxNumber.cacheKey(TAX_NUMBER_A), "stale");
+
+        apply(PARTITION_0, 0, TAX_NUMBER_A, state(TAX_NUMBER_A, "1"));
+
+        assertThat(cacheManager.getCache(CacheConfiguration.PERSONS_BY_TAX_NUMBER)
+                .get(TaxNumber.cacheKey(TAX_NUMBER_A))).isNull();
+    }
+
+    private void assign(Map<TopicPartition, Long> endOffsets) {
+        offsetsConsumer.updateBeginningOffsets(endOffsets.keySet().stream()
+                .collect(Collectors.toMap(Function.identity(), partition -> 0L)));
+        offsetsConsumer.updateEndOffsets(endOffsets);
+        view.onPartitionsAssigned(endOffsets.keySet().stream()
+                .collect(Collectors.toMap(Function.identity(), partition -> 0L)), seekCallback);
+    }
+
+    private void apply(TopicPartition partition, long offset, String taxNumber, PersonState state) {
+        apply(partition, offset, taxNumber, state, offset + 1);
+    }
+
+    private void apply(TopicPartition partition, long offset, String taxNumber, PersonState state, long position) {
+        listenerConsumer.seek(partition, position);
+        view.apply(new ConsumerRecord<>(partition.topic(), partition.partition(), offset, taxNumber, state),
+                listenerConsumer);
+    }
+
+    private static PersonState state(String taxNumber, String taxDebt) {
+        return PersonState.builder().taxNumber(taxNumber).taxDebt(new BigDecimal(taxDebt)).build();
+    }
+}
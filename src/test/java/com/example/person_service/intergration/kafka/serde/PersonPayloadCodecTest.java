@@ -0,0 +1,177 @@
+package com.example.person_service.intergration.kafka.serde;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.person_service.constant.EventType;
+import com.example.person_service.constant.PersonChangeType;
+import com.example.person_service.dto.request.BaseEvent;
+import com.example.person_service.dto.request.CalculateTaxRequest;
+import com.example.person_service.dto.request.CreatePersonEvent;
+import com.example.person_service.dto.request.CreatePersonRequest;
+import com.example.person_service.dto.request.DeletePersonEvent;
+import com.example.person_service.dto.request.DeletePersonRequest;
+import com.example.person_service.dto.request.PersonChangeEvent;
+import com.example.person_service.dto.request.PersonState;
+import com.example.person_service.dto.request.ReadPersonEvent;
+import com.example.person_service.dto.request.UpdatePersonEvent;
+import com.example.person_service.dto.request.UpdatePersonRequest;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PersonPayloadCodecTest {
+    private static final UUID ID = UUID.fromString("01a14f1e-1efe-7000-87de-2d6f84ba2af8");
+    private static final UUID CORRELATION_ID = UUID.fromString("7d444840-9dc0-11d1-b245-5ffdce74fad2");
+    private static final LocalDate DOB = LocalDate.of(1991, 2, 15);
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2026, 10, 18, 12, 45, 19, 194_083_000);
+    private static final String TAX_NUMBER = "VN000000042";
+
+    @ParameterizedTest
+    @EnumSource(PayloadSchema.class)
+    void roundTripsEverySchema(PayloadSchema schema) {
+        Object value = sample(schema);
+
+        byte[] encoded = PersonPayloadCodec.encode(value);
+
+        assertThat(encoded[0]).isEqualTo(PersonPayloadCodec.MAGIC);
+        assertThat(encoded[1] & 0xFF).isEqualTo(schema.id);
+        assertThat(encoded[2] & 0xFF).isEqualTo(schema.version);
+        assertThat(PersonPayloadCodec.decode(encoded)).isInstanceOf(schema.type).isEqualTo(value);
+    }
+
+    @ParameterizedTest
+    @EnumSource(PayloadSchema.class)
+    void roundTripsNullFields(PayloadSchema schema) throws ReflectiveOperationException {
+        Object empty = schema.type.getDeclaredConstructor().newInstance();
+
+        assertThat(PersonPayloadCodec.decode(PersonPayloadCodec.encode(empty))).isEqualTo(empty);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"vn000000042", "VN42", "VN0000000420", "VN00000004x", "", "  VN000000042 ", "Nguyễn"})
+    void keepsNonCanonicalTaxNumbersVerbatim(String taxNumber) {
+        CalculateTaxRequest request = CalculateTaxRequest.builder().taxNumber(taxNumber).amount(BigDecimal.TEN).build();
+
+        assertThat(PersonPayloadCodec.decode(PersonPayloadCodec.encode(request))).isEqualTo(request);
+    }
+
+    @Test
+    void packsCanonicalTaxNumbersSmallerThanTheirText() {
+        byte[] canonical = PersonPayloadCodec.encode(DeletePersonRequest.builder().taxNumber(TAX_NUMBER).build());
+        byte[] verbatim = PersonPayloadCodec.encode(DeletePersonRequest.builder().taxNumber("vn000000042").build());
+
+        assertThat(canonical.length).isLessThan(verbatim.length);
+    }
+
+    @Test
+    void keepsDecimalScaleAndSign() {
+        CalculateTaxRequest request = CalculateTaxRequest.builder()
+                .taxNumber(TAX_NUMBER)
+                .amount(new BigDecimal("-12345678901234567890.1200"))
+                .build();
+
+        CalculateTaxRequest decoded = (CalculateTaxRequest) PersonPayloadCodec.decode(PersonPayloadCodec.encode(request));
+
+        assertThat(decoded.getAmount()).isEqualTo(request.getAmount()).hasScaleOf(4);
+    }
+
+    @Test
+    void rejectsNewerSchemaVersion() {
+        byte[] encoded = PersonPayloadCodec.encode(sample(PayloadSchema.CREATE_PERSON_REQUEST));
+        encoded[2] = (byte) (PayloadSchema.CREATE_PERSON_REQUEST.version + 1);
+
+        assertThatThrownBy(() -> PersonPayloadCodec.decode(encoded))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("newer");
+    }
+
+    @Test
+    void rejectsTrailingBytes() {
+        byte[] encoded = PersonPayloadCodec.encode(sample(PayloadSchema.DELETE_PERSON_REQUEST));
+        byte[] padded = Arrays.copyOf(encoded, encoded.length + 1);
+
+        assertThatThrownBy(() -> PersonPayloadCodec.decode(padded))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("Trailing");
+    }
+
+    @Test
+    void rejectsTruncatedPayload() {
+        byte[] encoded = PersonPayloadCodec.encode(sample(PayloadSchema.CREATE_PERSON_EVENT));
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 1);
+
+        assertThatThrownBy(() -> PersonPayloadCodec.decode(truncated)).isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void rejectsUnknownSchemaId() {
+        byte[] encoded = {PersonPayloadCodec.MAGIC, (byte) 200, 1};
+
+        assertThatThrownBy(() -> PersonPayloadCodec.decode(encoded))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("Unknown payload schema");
+    }
+
+    @Test
+    void rejectsUnknownEventType() {
+        byte[] encoded = PersonPayloadCodec.encode(sample(PayloadSchema.BASE_EVENT));
+        // header, then id and correlation id as a presence flag plus 16 bytes each
+        encoded[3 + 17 + 17] = (byte) (EventType.values().length + 1);
+
+        assertThatThrownBy(() -> PersonPayloadCodec.decode(encoded))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("Unknown event type");
+    }
+
+    @Test
+    void doesNotTreatJsonAsBinary() {
+        assertThat(PersonPayloadCodec.isBinary("{\"taxNumber\":\"VN000000042\"}".getBytes())).isFalse();
+        assertThat(PersonPayloadCodec.isBinary(null)).isFalse();
+        assertThat(PersonPayloadCodec.supports(String.class)).isFalse();
+        assertThatThrownBy(() -> PersonPayloadCodec.encode("text")).isInstanceOf(SerializationException.class);
+    }
+
+    private static Object sample(PayloadSchema schema) {
+        return switch (schema) {
+            case CREATE_PERSON_REQUEST -> CreatePersonRequest.builder()
+                    .firstName("Anh").lastName("Nguyễn").dob(DOB).taxNumber(TAX_NUMBER).build();
+            case UPDATE_PERSON_REQUEST -> UpdatePersonRequest.builder()
+                    .firstName("Binh").lastName("Tran").dob(DOB).taxNumber(TAX_NUMBER).build();
+            case DELETE_PERSON_REQUEST -> DeletePersonRequest.builder().taxNumber(TAX_NUMBER).build();
+            case CALCULATE_TAX_REQUEST -> CalculateTaxRequest.builder()
+                    .taxNumber(TAX_NUMBER).amount(new BigDecimal("1250.75")).build();
+            case BASE_EVENT -> BaseEvent.builder()
+                    .id(ID).correlationId(CORRELATION_ID).eventType(EventType.READ_PERSON)
+                    .orderNumber(-3).timestamp(TIMESTAMP).build();
+            case CREATE_PERSON_EVENT -> CreatePersonEvent.builder()
+                    .id(ID).correlationId(CORRELATION_ID).eventType(EventType.CREATE_PERSON)
+                    .orderNumber(1).timestamp(TIMESTAMP)
+                    .firstName("Anh").lastName("Nguyễn").dob(DOB).taxNumber(TAX_NUMBER).build();
+            case READ_PERSON_EVENT -> ReadPersonEvent.builder()
+                    .id(ID).correlationId(CORRELATION_ID).eventType(EventType.READ_PERSON)
+                    .orderNumber(2).timestamp(TIMESTAMP).taxNumber(TAX_NUMBER).build();
+            case UPDATE_PERSON_EVENT -> UpdatePersonEvent.builder()
+                    .id(ID).correlationId(CORRELATION_ID).eventType(EventType.UPDATE_PERSON)
+                    .orderNumber(3).timestamp(TIMESTAMP)
+                    .firstName("Binh").lastName("Tran").dob(DOB).taxNumber(TAX_NUMBER).build();
+            case DELETE_PERSON_EVENT -> DeletePersonEvent.builder()
+                    .id(ID).correlationId(CORRELATION_ID).eventType(EventType.DELETE_PERSON)
+                    .orderNumber(Integer.MAX_VALUE).timestamp(TIMESTAMP).taxNumber(TAX_NUMBER).build();
+            case PERSON_CHANGE_EVENT -> PersonChangeEvent.builder()
+                    .id(ID).changeType(PersonChangeType.TAX_DEBT_ADDED).taxNumber(TAX_NUMBER).personId(CORRELATION_ID)
+                    .firstName("Anh").lastName("Nguyễn").dob(DOB).amount(new BigDecimal("0.01"))
+                    .occurredAt(TIMESTAMP).build();
+            case PERSON_STATE -> PersonState.builder()
+                    .id(ID).taxNumber(TAX_NUMBER).firstName("Anh").lastName("Nguyễn").dob(DOB)
+                    .taxDebt(new BigDecimal("99999.99")).updatedAt(TIMESTAMP).build();
+        };
+    }
+}
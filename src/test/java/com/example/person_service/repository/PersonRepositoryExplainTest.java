@@ -0,0 +1,80 @@
+package com.example.person_service.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.person_service.utils.NamePrefixRange;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Properties;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Checks the plans of the name prefix search against the Liquibase schema on the configured Postgres. Sequential
+ * scans are disabled because an almost empty table is always cheapest to scan; what matters is which index the
+ * planner can use at all. Skipped when that database cannot be reached, so the default build needs no Postgres.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIf("postgresReachable")
+class PersonRepositoryExplainTest {
+    @Autowired
+    private DataSource dataSource;
+    private NamedParameterJdbcTemplate jdbc;
+
+    @BeforeEach
+    void disableSequentialScans() {
+        jdbc = new NamedParameterJdbcTemplate(dataSource);
+        jdbc.getJdbcTemplate().execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    void namePrefixUnionUsesPatternIndexes() {
+        assertThat(explain(PersonRepository.NAME_PREFIX_UNION))
+                .contains("idx_persons_first_name_prefix", "idx_persons_last_name_prefix")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void namePrefixUnionUsesPatternIndexesUnderGenericPlan() {
+        // the plan a prepared statement settles on: bounds are parameters, not constants the planner can inspect
+        jdbc.getJdbcTemplate().execute("SET LOCAL plan_cache_mode = force_generic_plan");
+
+        assertThat(explain(PersonRepository.NAME_PREFIX_UNION))
+                .contains("idx_persons_first_name_prefix", "idx_persons_last_name_prefix")
+                .doesNotContain("Seq Scan");
+    }
+
+    private String explain(String sql) {
+        NamePrefixRange range = NamePrefixRange.of("Mi");
+        Map<String, Object> params = Map.of(
+                "lowerBound", range.lowerBound(),
+                "upperBound", range.upperBound(),
+                "maxDob", LocalDate.now().minusYears(30));
+        return String.join("\n", jdbc.queryForList("EXPLAIN " + sql, params, String.class));
+    }
+
+    static boolean postgresReachable() throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        DriverManager.setLoginTimeout(2);
+        try (Connection ignored = DriverManager.getConnection(properties.getProperty("spring.datasource.url"),
+                properties.getProperty("spring.datasource.username"),
+                properties.getProperty("spring.datasource.password"))) {
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
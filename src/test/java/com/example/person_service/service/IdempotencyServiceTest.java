@@ -0,0 +1,114 @@
+package com.example.person_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.person_service.configuration.IdempotencyProperties;
+import com.example.person_service.repository.ProcessedEventRepository;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs outside a test transaction, so every call commits or rolls back like a listener's would.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(IdempotencyService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyServiceTest {
+    private static final IdempotencyProperties PROPERTIES = new IdempotencyProperties(1000, Duration.ofDays(7));
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private ProcessedEventRepository processedEventRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        IdempotencyProperties idempotencyProperties() {
+            return PROPERTIES;
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        processedEventRepository.deleteAll();
+    }
+
+    @Test
+    void skipsReplayedKey() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThat(idempotencyService.executeOnce("topic-0@1", runs::incrementAndGet)).isTrue();
+        assertThat(idempotencyService.executeOnce("topic-0@1", runs::incrementAndGet)).isFalse();
+
+        assertThat(runs).hasValue(1);
+        assertThat(processedEventRepository.existsById("topic-0@1")).isTrue();
+    }
+
+    @Test
+    void skipsKeyCommittedByAnotherInstance() {
+        idempotencyService.executeOnce("topic-0@2", () -> {
+        });
+        // a fresh instance has an empty in-memory cache, so the claim itself has to report the key as taken
+        IdempotencyService restarted = new IdempotencyService(processedEventRepository, PROPERTIES);
+        AtomicInteger runs = new AtomicInteger();
+
+        Boolean ran = new TransactionTemplate(transactionManager).execute(
+                status -> restarted.executeOnce("topic-0@2", runs::incrementAndGet));
+
+        assertThat(ran).isFalse();
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    void failingActionLeavesKeyUnclaimed() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThatThrownBy(() -> idempotencyService.executeOnce("topic-0@3", () -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(processedEventRepository.existsById("topic-0@3")).isFalse();
+        assertThat(idempotencyService.executeOnce("topic-0@3", runs::incrementAndGet)).isTrue();
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void batchRecordsOnlyReportedKeys() {
+        List<String> result = idempotencyService.executeBatch(() -> List.of("topic-0@4", "topic-0@5"), keys -> keys);
+
+        assertThat(result).containsExactly("topic-0@4", "topic-0@5");
+        assertThat(idempotencyService.findProcessed(List.of("topic-0@4", "topic-0@5", "topic-0@6")))
+                .isEqualTo(Set.of("topic-0@4", "topic-0@5"));
+    }
+
+    @Test
+    void failingBatchRecordsNothing() {
+        assertThatThrownBy(() -> idempotencyService.executeBatch(() -> List.of("topic-0@7"), keys -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(idempotencyService.findProcessed(List.of("topic-0@7"))).isEmpty();
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.person_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.person_service.configuration.OutboxProperties;
+import com.example.person_service.constant.PersonChangeType;
+import com.example.person_service.dto.request.PersonChangeEvent;
+import com.example.person_service.dto.request.PersonState;
+import com.example.person_service.entity.OutboxEvent;
+import com.example.person_service.entity.Person;
+import com.example.person_service.repository.OutboxEventRepository;
+import com.example.person_service.repository.PersonRepository;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Relays against H2 in PostgreSQL mode with the producer mocked. Runs outside a test transaction, so a failed batch
+ * really rolls back and its rows stay for the next run.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(OutboxService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxServiceTest {
+    private static final String TAX_NUMBER_A = "VN000000001";
+    private static final String TAX_NUMBER_B = "VN000000002";
+
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private PersonRepository personRepository;
+    @MockitoBean
+    private KafkaProducerService kafkaProducerService;
+
+    private final List<UUID> sentIds = new ArrayList<>();
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        OutboxProperties outboxProperties() {
+            return new OutboxProperties(true, Duration.ofMillis(200), 2);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        personRepository.save(person(TAX_NUMBER_A));
+        personRepository.save(person(TAX_NUMBER_B));
+        LocalDateTime now = LocalDateTime.now();
+        // saved one by one so their time-ordered ids follow the listed order
+        outboxEventRepository.save(event(PersonChangeType.CREATED, TAX_NUMBER_A, now));
+        outboxEventRepository.save(event(PersonChangeType.CREATED, TAX_NUMBER_B, now));
+        outboxEventRepository.save(event(PersonChangeType.UPDATED, TAX_NUMBER_A, now));
+
+        when(kafkaProducerService.sendPersonChange(any())).thenAnswer(invocation -> {
+            sentIds.add(invocation.<PersonChangeEvent>getArgument(0).getId());
+            return CompletableFuture.completedFuture(null);
+        });
+        when(kafkaProducerService.sendPersonState(anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaProducerService.awaitAck(any())).thenAnswer(
+                invocation -> invocation.<CompletableFuture<?>>getArgument(0).join());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        personRepository.deleteAll();
+    }
+
+    @Test
+    void deletesOnlyTheAcknowledgedBatch() {
+        List<UUID> ids = outboxEventRepository.findAll().stream().map(OutboxEvent::getId).sorted().toList();
+
+        assertThat(outboxService.publishBatch()).isEqualTo(2);
+
+        assertThat(sentIds).containsExactly(ids.get(0), ids.get(1));
+        assertThat(outboxEventRepository.findAll()).extracting(OutboxEvent::getId).containsExactly(ids.get(2));
+        verify(kafkaProducerService, times(2)).sendPersonState(anyString(), any(PersonState.class));
+    }
+
+    @Test
+    void drainsOutboxOverSeveralBatches() {
+        assertThat(outboxService.publishBatch()).isEqualTo(2);
+        assertThat(outboxService.publishBatch()).isEqualTo(1);
+        assertThat(outboxService.publishBatch()).isZero();
+
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(sentIds).hasSize(3).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void keepsBatchWhenASendIsNotAcknowledged() {
+        doAnswer(invocation -> {
+            PersonChangeEvent event = invocation.getArgument(0);
+            return event.getTaxNumber().equals(TAX_NUMBER_B)
+                    ? CompletableFuture.failedFuture(new IllegalStateException("not acknowledged"))
+                    : CompletableFuture.completedFuture(null);
+        }).when(kafkaProducerService).sendPersonChange(any());
+
+        assertThatThrownBy(() -> outboxService.publishBatch()).isInstanceOf(RuntimeException.class);
+
+        assertThat(outboxEventRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void keepsBatchWhenAStateSendIsNotAcknowledged() {
+        doReturn(CompletableFuture.failedFuture(new IllegalStateException("not acknowledged")))
+                .when(kafkaProducerService).sendPersonState(anyString(), any());
+
+        assertThatThrownBy(() -> outboxService.publishBatch()).isInstanceOf(RuntimeException.class);
+
+        assertThat(outboxEventRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void publishesTombstoneForDeletedPerson() {
+        personRepository.delete(personRepository.findByTaxNumber(TAX_NUMBER_B).orElseThrow());
+
+        outboxService.publishBatch();
+
+        verify(kafkaProducerService).sendPersonState(TAX_NUMBER_B, null);
+    }
+
+    private static Person person(String taxNumber) {
+        return Person.builder()
+                .firstName("An")
+                .lastName("Nguyen")
+                .dob(LocalDate.of(1990, 1, 1))
+                .taxNumber(taxNumber)
+                .taxDebt(BigDecimal.ZERO)
+                .build();
+    }
+
+    private static OutboxEvent event(PersonChangeType changeType, String taxNumber, LocalDateTime createdAt) {
+        return OutboxEvent.builder()
+                .changeType(changeType)
+                .taxNumber(taxNumber)
+                .firstName("An")
+                .lastName("Nguyen")
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.person_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.person_service.dto.response.PersonResponse;
+import com.example.person_service.dto.response.PersonSliceResponse;
+import com.example.person_service.intergration.kafka.consumer.PersonStateView;
+import com.example.person_service.repository.PersonRepository;
+import com.example.person_service.repository.PersonSummary;
+import com.example.person_service.utils.PersonCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * The filtered scroll seeks through native Postgres queries, so the repository is mocked and only the way the service
+ * chains the named seek and the seeks over persons without a last name is checked.
+ */
+class PersonServiceScrollTest {
+    private static final UUID NAMED_ID = UUID.fromString("0190a1b2-c3d4-7e5f-8a6b-000000000001");
+    private static final UUID UNNAMED_ID_1 = UUID.fromString("0190a1b2-c3d4-7e5f-8a6b-000000000002");
+    private static final UUID UNNAMED_ID_2 = UUID.fromString("0190a1b2-c3d4-7e5f-8a6b-000000000003");
+    private static final UUID UNNAMED_ID_3 = UUID.fromString("0190a1b2-c3d4-7e5f-8a6b-000000000004");
+
+    private PersonRepository personRepository;
+    private PersonService personService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        personRepository = mock(PersonRepository.class);
+        personService = new PersonService(personRepository, mock(TaxDebtLedgerService.class),
+                mock(OutboxService.class), mock(EntityManager.class), mock(Validator.class), mock(CacheManager.class),
+                mock(ObjectProvider.class));
+    }
+
+    @Test
+    void continuesFilteredScrollAfterPageEndingWithoutLastName() {
+        when(personRepository.findSummariesWithoutLastNameByNamePrefixAndMaxDobAfter(anyString(), anyString(),
+                any(LocalDate.class), eq(UNNAMED_ID_1), eq(PageRequest.of(0, 2))))
+                .thenReturn(new SliceImpl<>(List.of(summary(UNNAMED_ID_2, null)), PageRequest.of(0, 2), false));
+
+        PersonSliceResponse page = personService.scrollFilteredPersons("an", 18,
+                new PersonCursor(null, UNNAMED_ID_1).encode(), 2);
+
+        assertThat(page.getContent()).extracting(PersonResponse::getId).containsExactly(UNNAMED_ID_2);
+        assertThat(page.isHasNext()).isFalse();
+        verify(personRepository, never()).findSummariesByNamePrefixAndMaxDobAfter(anyString(), anyString(),
+                any(LocalDate.class), any(), any(UUID.class), any());
+    }
+
+    @Test
+    void topsUpFilteredPageWithPersonsWithoutLastName() {
+        when(personRepository.findSummariesByNamePrefixAndMaxDobAfter(anyString(), anyString(), any(LocalDate.class),
+                eq("Nguyen"), eq(UNNAMED_ID_3), eq(PageRequest.of(0, 3))))
+                .thenReturn(new SliceImpl<>(List.of(summary(NAMED_ID, "Tran")), PageRequest.of(0, 3), false));
+        when(personRepository.findSummariesWithoutLastNameByNamePrefixAndMaxDob(anyString(), anyString(),
+                any(LocalDate.class), eq(PageRequest.of(0, 2))))
+                .thenReturn(new SliceImpl<>(List.of(summary(UNNAMED_ID_1, null), summary(UNNAMED_ID_2, null)),
+                        PageRequest.of(0, 2), true));
+
+        PersonSliceResponse page = personService.scrollFilteredPersons("an", 18,
+                new PersonCursor("Nguyen", UNNAMED_ID_3).encode(), 3);
+
+        assertThat(page.getContent()).extracting(PersonResponse::getId)
+                .containsExactly(NAMED_ID, UNNAMED_ID_1, UNNAMED_ID_2);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(PersonCursor.decode(page.getNextCursor())).isEqualTo(new PersonCursor(null, UNNAMED_ID_2));
+    }
+
+    @Test
+    void reportsNextPageWhenNamedPageIsFullAndPersonsWithoutLastNameRemain() {
+        when(personRepository.findSummariesByNamePrefixAndMaxDobAfter(anyString(), anyString(), any(LocalDate.class),
+                eq("Nguyen"), eq(UNNAMED_ID_3), eq(PageRequest.of(0, 1))))
+                .thenReturn(new SliceImpl<>(List.of(summary(NAMED_ID, "Tran")), PageRequest.of(0, 1), false));
+        when(personRepository.findSummariesWithoutLastNameByNamePrefixAndMaxDob(anyString(), anyString(),
+                any(LocalDate.class), eq(PageRequest.of(0, 1))))
+                .thenReturn(new SliceImpl<>(List.of(summary(UNNAMED_ID_1, null)), PageRequest.of(0, 1), false));
+
+        PersonSliceResponse page = personService.scrollFilteredPersons("an", 18,
+                new PersonCursor("Nguyen", UNNAMED_ID_3).encode(), 1);
+
+        assertThat(page.getContent()).extracting(PersonResponse::getId).containsExactly(NAMED_ID);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(PersonCursor.decode(page.getNextCursor())).isEqualTo(new PersonCursor("Tran", NAMED_ID));
+    }
+
+    @Test
+    void leavesFilteredPageWithMoreNamedPersonsAlone() {
+        when(personRepository.findSummariesByNamePrefixAndMaxDobAfter(anyString(), anyString(), any(LocalDate.class),
+                eq("Nguyen"), eq(UNNAMED_ID_3), eq(PageRequest.of(0, 1))))
+                .thenReturn(new SliceImpl<>(List.of(summary(NAMED_ID, "Tran")), PageRequest.of(0, 1), true));
+
+        PersonSliceResponse page = personService.scrollFilteredPersons("an", 18,
+                new PersonCursor("Nguyen", UNNAMED_ID_3).encode(), 1);
+
+        assertThat(page.getContent()).extracting(PersonResponse::getId).containsExactly(NAMED_ID);
+        assertThat(page.isHasNext()).isTrue();
+        verify(personRepository, never()).findSummariesWithoutLastNameByNamePrefixAndMaxDob(anyString(), anyString(),
+                any(LocalDate.class), any());
+    }
+
+    private static PersonSummary summary(UUID id, String lastName) {
+        return new Summary(id, "Anh", lastName, LocalDate.of(1990, 1, 1), "VN000000001", BigDecimal.ZERO);
+    }
+
+    private record Summary(UUID id, String firstName, String lastName, LocalDate dob, String taxNumber,
+                           BigDecimal taxDebt) implements PersonSummary {
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public String getFirstName() {
+            return firstName;
+        }
+
+        @Override
+        public String getLastName() {
+            return lastName;
+        }
+
+        @Override
+        public LocalDate getDob() {
+            return dob;
+        }
+
+        @Override
+        public String getTaxNumber() {
+            return taxNumber;
+        }
+
+        @Override
+        public BigDecimal getTaxDebt() {
+            return taxDebt;
+        }
+    }
+}
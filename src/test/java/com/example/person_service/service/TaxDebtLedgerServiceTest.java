@@ -0,0 +1,138 @@
+package com.example.person_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.person_service.configuration.TaxLedgerProperties;
+import com.example.person_service.dto.request.CalculateTaxRequest;
+import com.example.person_service.entity.Person;
+import com.example.person_service.repository.PersonRepository;
+import com.example.person_service.repository.TaxDebtLedgerRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Compaction against H2 in PostgreSQL mode. The batch size is smaller than the ledger, so a single run folds only
+ * part of it and the current debt has to come out the same either way.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(TaxDebtLedgerService.class)
+class TaxDebtLedgerServiceTest {
+    private static final String TAX_NUMBER_A = "VN000000001";
+    private static final String TAX_NUMBER_B = "VN000000002";
+
+    @Autowired
+    private TaxDebtLedgerService taxDebtLedgerService;
+    @Autowired
+    private TaxDebtLedgerRepository taxDebtLedgerRepository;
+    @Autowired
+    private PersonRepository personRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        TaxLedgerProperties taxLedgerProperties() {
+            return new TaxLedgerProperties(2);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persist(person(TAX_NUMBER_A, new BigDecimal("10.00")));
+        entityManager.persist(person(TAX_NUMBER_B, BigDecimal.ZERO));
+        taxDebtLedgerService.append(List.of(
+                tax(TAX_NUMBER_A, "5.00"), tax(TAX_NUMBER_A, "7.50"), tax(TAX_NUMBER_B, "3.00")));
+        entityManager.flush();
+    }
+
+    @Test
+    void compactionFoldsEntriesIntoSnapshotAndDeletesThem() {
+        compactAll();
+
+        assertThat(taxDebtLedgerRepository.count()).isZero();
+        assertThat(snapshot(TAX_NUMBER_A)).isEqualByComparingTo("22.50");
+        assertThat(snapshot(TAX_NUMBER_B)).isEqualByComparingTo("3.00");
+    }
+
+    @Test
+    void currentTaxDebtIsUnchangedByCompaction() {
+        assertThat(personRepository.findCurrentTaxDebt(TAX_NUMBER_A)).hasValueSatisfying(
+                debt -> assertThat(debt).isEqualByComparingTo("22.50"));
+        assertThat(personRepository.findCurrentTaxDebt(TAX_NUMBER_B)).hasValueSatisfying(
+                debt -> assertThat(debt).isEqualByComparingTo("3.00"));
+
+        taxDebtLedgerService.compact();
+        entityManager.clear();
+
+        assertThat(taxDebtLedgerRepository.count()).isEqualTo(1);
+        assertThat(personRepository.findCurrentTaxDebt(TAX_NUMBER_A)).hasValueSatisfying(
+                debt -> assertThat(debt).isEqualByComparingTo("22.50"));
+        assertThat(personRepository.findCurrentTaxDebt(TAX_NUMBER_B)).hasValueSatisfying(
+                debt -> assertThat(debt).isEqualByComparingTo("3.00"));
+
+        compactAll();
+
+        assertThat(personRepository.findCurrentTaxDebt(TAX_NUMBER_A)).hasValueSatisfying(
+                debt -> assertThat(debt).isEqualByComparingTo("22.50"));
+        assertThat(personRepository.findCurrentTaxDebt(TAX_NUMBER_B)).hasValueSatisfying(
+                debt -> assertThat(debt).isEqualByComparingTo("3.00"));
+    }
+
+    @Test
+    void compactionWithEmptyLedgerChangesNothing() {
+        compactAll();
+
+        taxDebtLedgerService.compact();
+        entityManager.clear();
+
+        assertThat(snapshot(TAX_NUMBER_A)).isEqualByComparingTo("22.50");
+    }
+
+    @Test
+    void discardDropsOnlyThatPersonsEntries() {
+        taxDebtLedgerService.discard(TAX_NUMBER_A);
+
+        assertThat(taxDebtLedgerRepository.findAll())
+                .extracting(entry -> entry.getTaxNumber())
+                .containsExactly(TAX_NUMBER_B);
+    }
+
+    private void compactAll() {
+        for (int run = 0; run < 3; run++) {
+            taxDebtLedgerService.compact();
+        }
+        entityManager.clear();
+    }
+
+    private BigDecimal snapshot(String taxNumber) {
+        return personRepository.findByTaxNumber(taxNumber).orElseThrow().getTaxDebt();
+    }
+
+    private static Person person(String taxNumber, BigDecimal taxDebt) {
+        return Person.builder()
+                .firstName("An")
+                .lastName("Nguyen")
+                .dob(LocalDate.of(1990, 1, 1))
+                .taxNumber(taxNumber)
+                .taxDebt(taxDebt)
+                .build();
+    }
+
+    private static CalculateTaxRequest tax(String taxNumber, String amount) {
+        return CalculateTaxRequest.builder().taxNumber(taxNumber).amount(new BigDecimal(amount)).build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.person_service.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class NamePrefixRangeTest {
+
+    @Test
+    void incrementsLastCharacter() {
+        assertThat(NamePrefixRange.of("mi")).isEqualTo(new NamePrefixRange("mi", "mj"));
+    }
+
+    @Test
+    void lowersAndTrimsPrefix() {
+        assertThat(NamePrefixRange.of("  mI ")).isEqualTo(new NamePrefixRange("mi", "mj"));
+    }
+
+    @Test
+    void incrementsPastLastLetter() {
+        assertThat(NamePrefixRange.of("az")).isEqualTo(new NamePrefixRange("az", "a{"));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"", "   "})
+    void blankPrefixMatchesEverything(String prefix) {
+        NamePrefixRange range = NamePrefixRange.of(prefix);
+
+        assertThat(range).isEqualTo(new NamePrefixRange("", NamePrefixRange.UNBOUNDED));
+        assertThat(range).matches(r -> contains(r, "nguyen") && contains(r, "\uffff") && contains(r, "😀"));
+    }
+
+    @Test
+    void carriesPastTrailingMaxValue() {
+        assertThat(NamePrefixRange.of("a\uffff")).isEqualTo(new NamePrefixRange("a\uffff", "b"));
+        assertThat(NamePrefixRange.of("a\uffff\uffff")).isEqualTo(new NamePrefixRange("a\uffff\uffff", "b"));
+    }
+
+    @Test
+    void prefixOfOnlyMaxValueIsUnbounded() {
+        NamePrefixRange range = NamePrefixRange.of("\uffff");
+
+        assertThat(range.upperBound()).isEqualTo(NamePrefixRange.UNBOUNDED);
+        assertThat(contains(range, "\uffffz")).isTrue();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "mi, mi, true",
+            "mi, minh, true",
+            "mi, m, false",
+            "mi, mj, false",
+            "mi, mh\uffff, false",
+            "mi, mi\uffff\uffff, true",
+            "az, azzz, true",
+            "az, a{, false",
+            "đ, đặng, true",
+            "đ, e, false",
+            "a\uffff, a\uffffb, true",
+            "a\uffff, b, false"
+    })
+    void rangeMatchesExactlyTheNamesWithPrefix(String prefix, String name, boolean expected) {
+        assertThat(contains(NamePrefixRange.of(prefix), name)).isEqualTo(expected);
+    }
+
+    // mirrors the text_pattern_ops operators, which compare UTF-8 bytes rather than Java chars
+    private static boolean contains(NamePrefixRange range, String name) {
+        byte[] value = utf8(name);
+        return Arrays.compareUnsigned(value, utf8(range.lowerBound())) >= 0
+                && Arrays.compareUnsigned(value, utf8(range.upperBound())) < 0;
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.person_service.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.person_service.exception.AppException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PersonCursorTest {
+    private static final UUID ID = UUID.fromString("0190a1b2-c3d4-7e5f-8a6b-7c8d9e0f1a2b");
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Nguyen", "null", "", "-", "+", "O'Neil:Smith", "Đặng"})
+    void roundTripsLastName(String lastName) {
+        PersonCursor cursor = new PersonCursor(lastName, ID);
+
+        assertThat(PersonCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripsMissingLastName() {
+        PersonCursor cursor = new PersonCursor(null, ID);
+
+        assertThat(PersonCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void distinguishesMissingLastNameFromLiteralNull() {
+        assertThat(new PersonCursor(null, ID).encode()).isNotEqualTo(new PersonCursor("null", ID).encode());
+    }
+
+    @Test
+    void encodesUrlSafeWithoutPadding() {
+        String encoded = new PersonCursor("Tran?&=/", ID).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "", "bm8tc2VwYXJhdG9y"})
+    void rejectsMalformedCursor(String cursor) {
+        assertThatThrownBy(() -> PersonCursor.decode(cursor)).isInstanceOf(AppException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not-a-uuid:+Nguyen", ":+Nguyen", "0190a1b2-c3d4-7e5f-8a6b-7c8d9e0f1a2b:",
+            "0190a1b2-c3d4-7e5f-8a6b-7c8d9e0f1a2b:Nguyen"})
+    void rejectsCursorWithInvalidParts(String raw) {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> PersonCursor.decode(cursor))
+                .isInstanceOf(AppException.class)
+                .satisfies(e -> assertThat(((AppException) e).getErrorCode().getErrorCode()).isEqualTo(400));
+    }
+}
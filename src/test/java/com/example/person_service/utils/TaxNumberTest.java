@@ -0,0 +1,93 @@
+package com.example.person_service.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.person_service.exception.AppException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TaxNumberTest {
+
+    @Test
+    void acceptsCanonicalValue() {
+        assertThat(TaxNumber.isCanonical("VN123456789")).isTrue();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"vn123456789", " VN123456789", "VN12345678", "VN1234567890", "XN123456789", "VN12345678A",
+            "VN１２３４５６７８９"})
+    void rejectsNonCanonicalValue(String value) {
+        assertThat(TaxNumber.isCanonical(value)).isFalse();
+    }
+
+    @Test
+    void normalizeReturnsCanonicalInstanceAsIs() {
+        String canonical = "VN123456789";
+
+        assertThat(TaxNumber.normalize(canonical)).isSameAs(canonical);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"vn123456789", "  VN123456789 ", "Vn123456789\t"})
+    void normalizeTrimsAndUpperCases(String value) {
+        assertThat(TaxNumber.normalize(value)).isEqualTo("VN123456789");
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"VN 123456789", "VN12345678", "123456789", "INVALID_TAX"})
+    void normalizeReturnsNullForMalformedValue(String value) {
+        assertThat(TaxNumber.normalize(value)).isNull();
+    }
+
+    @Test
+    void requireReturnsCanonicalForm() {
+        assertThat(TaxNumber.require(" vn000000001 ")).isEqualTo("VN000000001");
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"VN12345678", "INVALID_TAX"})
+    void requireRejectsMalformedValueWithBadRequest(String value) {
+        assertThatThrownBy(() -> TaxNumber.require(value))
+                .isInstanceOf(AppException.class)
+                .satisfies(e -> {
+                    assertThat(((AppException) e).getErrorCode().getErrorCode()).isEqualTo(400);
+                    assertThat(((AppException) e).getErrorCode().getErrorMessage()).isEqualTo(TaxNumber.INVALID_MESSAGE);
+                });
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"VN000000000", "VN000000001", "VN000123000", "VN123456789", "VN999999999"})
+    void packAndUnpackRoundTrip(String canonical) {
+        long packed = TaxNumber.pack(canonical);
+
+        assertThat(TaxNumber.unpack(packed)).isEqualTo(canonical);
+    }
+
+    @Test
+    void packKeepsDigitValue() {
+        assertThat(TaxNumber.pack("VN000000042")).isEqualTo(42L);
+        assertThat(TaxNumber.pack("VN999999999")).isEqualTo(999_999_999L);
+    }
+
+    @Test
+    void unpackPadsLeadingZeros() {
+        assertThat(TaxNumber.unpack(7)).isEqualTo("VN000000007");
+    }
+
+    @Test
+    void cacheKeySharesEntryAcrossSpellings() {
+        assertThat(TaxNumber.cacheKey("vn123456789 ")).isEqualTo(TaxNumber.cacheKey("VN123456789")).isEqualTo(123456789L);
+    }
+
+    @Test
+    void cacheKeyKeepsMalformedValue() {
+        assertThat(TaxNumber.cacheKey("INVALID_TAX")).isEqualTo("INVALID_TAX");
+        assertThat(TaxNumber.cacheKey(null)).isNull();
+    }
+}